@@ -1,8 +1,11 @@
 package com.yupathbuilder.backend;
 
 import com.yupathbuilder.backend.repo.CourseRepository;
+import com.yupathbuilder.backend.repo.SectionRepository;
 import com.yupathbuilder.backend.repo.TermPlanRepository;
+import com.yupathbuilder.backend.schedule.ScheduleService;
 import com.yupathbuilder.backend.service.ConflictDetector;
+import com.yupathbuilder.backend.service.CourseFacetService;
 import com.yupathbuilder.backend.service.CourseSearchService;
 import com.yupathbuilder.backend.service.TermPlanService;
 import org.springframework.context.annotation.Bean;
@@ -17,8 +20,8 @@ import org.springframework.context.annotation.Configuration;
 public class AppConfig {
 
     @Bean
-    public ConflictDetector conflictDetector() {
-        return new ConflictDetector();
+    public ConflictDetector conflictDetector(SectionRepository sectionRepository) {
+        return new ConflictDetector(sectionRepository);
     }
 
     @Bean
@@ -27,7 +30,14 @@ public class AppConfig {
     }
 
     @Bean
-    public TermPlanService termPlanService(TermPlanRepository termPlanRepository, ConflictDetector conflictDetector) {
-        return new TermPlanService(termPlanRepository, conflictDetector);
+    public CourseFacetService courseFacetService(CourseRepository courseRepository,
+                                                 SectionRepository sectionRepository) {
+        return new CourseFacetService(courseRepository, sectionRepository);
+    }
+
+    @Bean
+    public TermPlanService termPlanService(TermPlanRepository termPlanRepository, ConflictDetector conflictDetector,
+                                           ScheduleService scheduleService, SectionRepository sectionRepository) {
+        return new TermPlanService(termPlanRepository, conflictDetector, scheduleService, sectionRepository);
     }
 }
@@ -4,6 +4,8 @@ import com.yupathbuilder.backend.repo.CourseRepository;
 import com.yupathbuilder.backend.repo.SectionRepository;
 import com.yupathbuilder.backend.repo.file.FileCourseRepository;
 import com.yupathbuilder.backend.repo.file.FileSectionRepository;
+import com.yupathbuilder.backend.schedule.ScheduleCache;
+import com.yupathbuilder.backend.schedule.ScheduleService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,19 +23,29 @@ public class AdminController {
 
     private final CourseRepository courseRepository;
     private final SectionRepository sectionRepository;
+    private final ScheduleService scheduleService;
 
-    public AdminController(CourseRepository courseRepository, SectionRepository sectionRepository) {
+    public AdminController(CourseRepository courseRepository, SectionRepository sectionRepository,
+                           ScheduleService scheduleService) {
         this.courseRepository = courseRepository;
         this.sectionRepository = sectionRepository;
+        this.scheduleService = scheduleService;
     }
 
     @PostMapping("/reload-data")
     public ResponseEntity<?> reload() {
         if (courseRepository instanceof FileCourseRepository fileCourses && sectionRepository instanceof FileSectionRepository fileSections) {
-            fileCourses.reload();
-            fileSections.reload();
-            return ResponseEntity.ok("Reloaded CSV data");
+            // one catalog snapshot holds both; reload each distinct catalog once
+            long version = fileCourses.catalog().reload();
+            // each reload publishes a CatalogReloadedEvent, which clears the schedule cache
+            if (fileSections.catalog() != fileCourses.catalog()) fileSections.catalog().reload();
+            return ResponseEntity.ok("Reloaded CSV data (catalog version " + version + ")");
         }
         return ResponseEntity.status(400).body("Repositories are not file-based");
     }
+
+    @GetMapping("/schedule-cache")
+    public ScheduleCache.Stats scheduleCache() {
+        return scheduleService.cacheStats();
+    }
 }
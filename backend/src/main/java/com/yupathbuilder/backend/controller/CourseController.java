@@ -2,6 +2,8 @@ package com.yupathbuilder.backend.controller;
 
 import com.yupathbuilder.backend.model.Course;
 import com.yupathbuilder.backend.repo.CourseRepository;
+import com.yupathbuilder.backend.service.CoursePage;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,4 +30,18 @@ public class CourseController {
     public List<Course> list() {
         return courses.findAll();
     }
+
+    /**
+     * Paged variant of {@link #list}, selected by the {@code limit} parameter: ordered by normalized code,
+     * continued with the returned {@code nextCursor}. 400 on a bad cursor or limit.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<?> page(@RequestParam(name = "limit") int limit,
+                                  @RequestParam(name = "cursor", required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(CoursePage.of(courses.findAll(), "", cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package com.yupathbuilder.backend.controller;
+
+import com.yupathbuilder.backend.index.CourseFacetIndex;
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.TimeSlot;
+import com.yupathbuilder.backend.service.CourseFacetService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+
+
+/**
+ * REST controller for the CourseFacetController endpoints.
+ *
+ * <p>This class maps HTTP requests to service/repository calls and returns DTOs.
+ * Keep the controller thin: validation + orchestration only.
+ */
+
+@RestController
+@RequestMapping("/api/search")
+public class CourseFacetController {
+
+    private final CourseFacetService service;
+
+    public CourseFacetController(CourseFacetService service) {
+        this.service = service;
+    }
+
+    /**
+     * Text query plus facet filters; repeated parameters are alternatives ({@code department=EECS&department=MATH}).
+     * {@code days} lists the allowed meeting days ("MWF"); times are {@code HH:mm}. 400 on a bad time, cursor or limit.
+     */
+    @GetMapping("/courses/facets")
+    public ResponseEntity<?> search(@RequestParam(name = "q", required = false) String q,
+                                    @RequestParam(name = "department", required = false) List<String> departments,
+                                    @RequestParam(name = "credits", required = false) List<Double> credits,
+                                    @RequestParam(name = "term", required = false) List<String> terms,
+                                    @RequestParam(name = "days", required = false) String days,
+                                    @RequestParam(name = "startsAfter", required = false) String startsAfter,
+                                    @RequestParam(name = "endsBefore", required = false) String endsBefore,
+                                    @RequestParam(name = "limit", defaultValue = "50") int limit,
+                                    @RequestParam(name = "cursor", required = false) String cursor) {
+        try {
+            CourseFacetIndex.Filter filter = new CourseFacetIndex.Filter(
+                    departments == null ? null : new HashSet<>(departments),
+                    credits == null ? null : new HashSet<>(credits),
+                    terms == null ? null : new HashSet<>(terms),
+                    TimeSlot.Day.mask(days),
+                    minutes(startsAfter), minutes(endsBefore));
+            return ResponseEntity.ok(service.search(q, filter, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        }
+    }
+
+    private static Integer minutes(String time) {
+        if (time == null || time.isBlank()) return null;
+        try {
+            return MeetingPattern.minutes(LocalTime.parse(time.trim()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time (expected HH:mm): " + time);
+        }
+    }
+}
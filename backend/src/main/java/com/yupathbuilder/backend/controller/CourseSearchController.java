@@ -1,7 +1,9 @@
 package com.yupathbuilder.backend.controller;
 
+import com.yupathbuilder.backend.index.CourseTextIndex;
 import com.yupathbuilder.backend.model.Course;
 import com.yupathbuilder.backend.service.CourseSearchService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,4 +30,34 @@ public class CourseSearchController {
     public List<Course> search(@RequestParam(name = "q", required = false) String q) {
         return service.search(q);
     }
+
+    /** Paged variant of {@link #search}, selected by the {@code limit} parameter; 400 on a bad cursor or limit. */
+    @GetMapping(value = "/courses", params = "limit")
+    public ResponseEntity<?> searchPage(@RequestParam(name = "q", required = false) String q,
+                                        @RequestParam(name = "limit") int limit,
+                                        @RequestParam(name = "cursor", required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(service.searchPage(q, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        }
+    }
+
+    /** Typo-tolerant variant of {@link #search}, best match first. */
+    @GetMapping("/courses/fuzzy")
+    public List<CourseTextIndex.Match> fuzzy(@RequestParam(name = "q", required = false) String q,
+                                             @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return service.fuzzy(q, limit);
+    }
+
+    /** Search-box completions: code and title only, to keep per-keystroke responses small. */
+    @GetMapping("/courses/autocomplete")
+    public List<Suggestion> autocomplete(@RequestParam(name = "q", required = false) String q,
+                                         @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return service.autocomplete(q, limit).stream()
+                .map(c -> new Suggestion(c.courseCode(), c.title()))
+                .toList();
+    }
+
+    public record Suggestion(String courseCode, String title) {}
 }
@@ -1,12 +1,22 @@
 package com.yupathbuilder.backend.controller;
 
+import com.yupathbuilder.backend.schedule.ScheduleResult;
 import com.yupathbuilder.backend.schedule.ScheduleService;
+import com.yupathbuilder.backend.schedule.dto.BatchBuildRequest;
+import com.yupathbuilder.backend.schedule.dto.BatchBuildResponse;
+import com.yupathbuilder.backend.schedule.dto.BatchBuildResult;
 import com.yupathbuilder.backend.schedule.dto.BuildScheduleRequest;
 import com.yupathbuilder.backend.schedule.dto.BuildScheduleResponse;
+import com.yupathbuilder.backend.schedule.dto.RankScheduleRequest;
+import com.yupathbuilder.backend.schedule.dto.RankScheduleResponse;
+import com.yupathbuilder.backend.schedule.dto.ScheduleFailureResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * REST controller for the ScheduleController endpoints.
@@ -19,6 +29,8 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/schedule")
 public class ScheduleController {
 
+    private static final String NO_SCHEDULE = "No non-conflicting schedule found for the selected courses/term.";
+
     private final ScheduleService schedule;
 
     public ScheduleController(ScheduleService schedule) {
@@ -27,10 +39,38 @@ public class ScheduleController {
 
     @PostMapping("/build")
     public ResponseEntity<?> build(@Valid @RequestBody BuildScheduleRequest req) {
-        var result = schedule.build(req.term(), req.courseCodes());
-        if (result.isEmpty()) {
-            return ResponseEntity.status(409).body("No non-conflicting schedule found for the selected courses/term.");
+        BatchBuildResult r = toResult(req.term(), schedule.build(req.term(), req.courseCodes(), req.mode(), req.budget()));
+        return ResponseEntity.status(r.status()).body(r.schedule() != null ? r.schedule() : r.failure());
+    }
+
+    @PostMapping("/build/batch")
+    public ResponseEntity<BatchBuildResponse> buildBatch(@Valid @RequestBody BatchBuildRequest req) {
+        var results = schedule.buildAll(req.requests());
+        List<BatchBuildResult> out = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) out.add(toResult(req.requests().get(i).term(), results.get(i)));
+        return ResponseEntity.ok(new BatchBuildResponse(out));
+    }
+
+    private static BatchBuildResult toResult(String term, ScheduleResult result) {
+        if (result.found()) {
+            return new BatchBuildResult(200, new BuildScheduleResponse(term, result.sections(), result.stats(), true, List.of()), null);
+        }
+        if (result.budgetExhausted()) {
+            // out of time/nodes: hand back the best partial schedule rather than holding the request
+            return new BatchBuildResult(200, new BuildScheduleResponse(
+                    term, result.partial(), result.stats(), false, result.unplacedCourses()), null);
+        }
+        return new BatchBuildResult(409, null,
+                new ScheduleFailureResponse(NO_SCHEDULE, result.stats(), result.conflictCore()));
+    }
+
+    @PostMapping("/ranked")
+    public ResponseEntity<?> ranked(@Valid @RequestBody RankScheduleRequest req) {
+        var result = schedule.topK(req.term(), req.courseCodes(), req.limit(), req.ranking());
+        if (result.schedules().isEmpty() && !result.budgetExhausted()) {
+            return ResponseEntity.status(409).body(new ScheduleFailureResponse(NO_SCHEDULE, result.stats(), List.of()));
         }
-        return ResponseEntity.ok(new BuildScheduleResponse(req.term(), result.get()));
+        return ResponseEntity.ok(new RankScheduleResponse(req.term(), req.ranking(), result.schedules(),
+                result.stats(), !result.budgetExhausted()));
     }
 }
@@ -0,0 +1,68 @@
+package com.yupathbuilder.backend.controller;
+
+import com.yupathbuilder.backend.index.SectionTimeIndex;
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.model.TimeSlot;
+import com.yupathbuilder.backend.repo.SectionRepository;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+
+/**
+ * REST controller for the SectionController endpoints.
+ *
+ * <p>This class maps HTTP requests to service/repository calls and returns DTOs.
+ * Keep the controller thin: validation + orchestration only.
+ */
+
+@RestController
+@RequestMapping("/api/sections")
+public class SectionController {
+
+    private final SectionRepository sections;
+
+    public SectionController(SectionRepository sections) {
+        this.sections = sections;
+    }
+
+    /**
+     * Sections of {@code term} meeting on one of {@code days} ("TR", "Tue"; all days when absent) at a time
+     * overlapping {@code from}-{@code to} ({@code HH:mm}), or only within it when {@code mode=within}.
+     * 400 on a missing term or a bad window.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam(name = "term", required = false) String term,
+                                    @RequestParam(name = "days", required = false) String days,
+                                    @RequestParam(name = "from", defaultValue = "00:00") String from,
+                                    @RequestParam(name = "to", defaultValue = "23:59") String to,
+                                    @RequestParam(name = "department", required = false) String department,
+                                    @RequestParam(name = "mode", defaultValue = "overlap") String mode) {
+        if (term == null || term.isBlank()) return ResponseEntity.badRequest().body("Missing term");
+        boolean within;
+        if (mode.equalsIgnoreCase("overlap")) within = false;
+        else if (mode.equalsIgnoreCase("within")) within = true;
+        else return ResponseEntity.badRequest().body("mode must be overlap or within");
+
+        try {
+            SectionTimeIndex index = sections.timeIndex(term)
+                    .orElseGet(() -> SectionTimeIndex.build(sections.findByTerm(term)));
+            List<Section> found = index.find(TimeSlot.Day.mask(days), minutes(from), minutes(to), within, department);
+            return ResponseEntity.ok(found);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private static int minutes(String time) {
+        try {
+            return MeetingPattern.minutes(LocalTime.parse(time.trim()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time (expected HH:mm): " + time);
+        }
+    }
+}
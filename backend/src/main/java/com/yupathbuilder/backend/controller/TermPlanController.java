@@ -4,11 +4,15 @@ import com.yupathbuilder.backend.model.Conflict;
 import com.yupathbuilder.backend.model.Section;
 import com.yupathbuilder.backend.model.Term;
 import com.yupathbuilder.backend.model.TermPlan;
+import com.yupathbuilder.backend.model.TimeSlot;
+import com.yupathbuilder.backend.schedule.RepairResult;
 import com.yupathbuilder.backend.service.TermPlanService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
 
 
@@ -39,6 +43,18 @@ public class TermPlanController {
         public Section section;
     }
 
+    public static class AddCourseRequest {
+        public String courseCode;
+    }
+
+    public record AddCourseResponse(TermPlan plan, RepairResult repair) {}
+
+    /**
+     * {@code bitmap} is base64 of a little-endian bitset: bit {@code i} (byte {@code i / 8}, bit {@code i % 8})
+     * is set when {@code sectionIds.get(i)} fits the plan.
+     */
+    public record CompatibilityResponse(String term, List<String> sectionIds, String bitmap, int compatibleCount) {}
+
     @GetMapping
     public List<TermPlan> list() {
         return service.listPlans();
@@ -59,9 +75,34 @@ public class TermPlanController {
         return ResponseEntity.created(URI.create("/api/plans/" + plan.getId())).body(plan);
     }
 
+    @GetMapping("/{id}/compatibility")
+    public ResponseEntity<CompatibilityResponse> compatibility(@PathVariable String id,
+                                                               @RequestParam(name = "term", required = false) String term,
+                                                               @RequestParam(name = "courses", required = false) List<String> courses) {
+        return service.getPlan(id).map(plan -> {
+            TermPlanService.Compatibility result = service.compatibility(plan, term, courses);
+            BitSet fits = result.fits();
+            String bitmap = Base64.getEncoder().encodeToString(fits.toByteArray());
+            return ResponseEntity.ok(new CompatibilityResponse(result.term(), result.sectionIds(), bitmap, fits.cardinality()));
+        }).orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/conflicts")
+    public ResponseEntity<List<Conflict>> conflicts(@PathVariable String id) {
+        return service.getPlan(id).map(plan -> ResponseEntity.ok(service.validate(plan)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/{id}/sections")
     public ResponseEntity<?> addSection(@PathVariable String id, @RequestBody AddSectionRequest req) {
         if (req == null || req.section == null) return ResponseEntity.badRequest().body("Missing section");
+        if (req.section.startTime() != null && req.section.endTime() != null) {
+            try {
+                TimeSlot.Day.mask(req.section.days()); // elsewhere such days just mean no meeting
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         return service.getPlan(id).map(plan -> {
             List<Conflict> conflicts = service.tryAddSection(plan, req.section);
             if (!conflicts.isEmpty()) return ResponseEntity.status(409).body(conflicts);
@@ -69,6 +110,18 @@ public class TermPlanController {
         }).orElse(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/{id}/courses")
+    public ResponseEntity<?> addCourse(@PathVariable String id, @RequestBody AddCourseRequest req) {
+        if (req == null || req.courseCode == null || req.courseCode.isBlank()) {
+            return ResponseEntity.badRequest().body("Missing courseCode");
+        }
+        return service.getPlan(id).map(plan -> {
+            RepairResult result = service.addCourse(plan, req.courseCode);
+            if (!result.found()) return ResponseEntity.status(409).body(result);
+            return ResponseEntity.ok(new AddCourseResponse(plan, result));
+        }).orElse(ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}/sections/{sectionKey}")
     public ResponseEntity<?> removeSection(@PathVariable String id, @PathVariable String sectionKey) {
         return service.getPlan(id).map(plan -> {
@@ -0,0 +1,341 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.Course;
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.model.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+
+
+/**
+ * Catalog index: CourseFacetIndex.
+ *
+ * <p>Compressed bitmaps for faceted course filtering. Course-level facets (department, credits) are
+ * {@link OrdinalBitmap}s over course ordinals; section-level facets (term, meeting day) are bitmaps over
+ * section ordinals, and a section filter selects the courses owning at least one matching section.
+ * Time windows rank sections by earliest start and by latest end (two int arrays), so a threshold query is
+ * one binary search and selects a contiguous slice. A query ANDs the selected facets (values within a facet
+ * are ORed) and reports, per facet value, how many courses would match if that facet's own selection were
+ * replaced by the value.
+ *
+ * <p>Day filters are "meets only on these days": an untimed section meets on no day and passes, but it
+ * never passes a time window.
+ */
+
+public final class CourseFacetIndex {
+
+    public static final String DEPARTMENT = "department";
+    public static final String CREDITS = "credits";
+    public static final String TERM = "term";
+    public static final String DAYS = "days";
+
+    private static final int ALL_DAYS = (1 << TimeSlot.Day.values().length) - 1;
+
+    /**
+     * One facet query. Empty sets select everything; {@code days} is the mask of allowed days
+     * ({@link TimeSlot.Day#mask}, 0 for any); times are minutes since midnight or {@code null}.
+     */
+    public record Filter(Set<String> departments, Set<Double> credits, Set<String> terms, int days,
+                         Integer startsAfter, Integer endsBefore) {
+
+        public static final Filter NONE = new Filter(Set.of(), Set.of(), Set.of(), 0, null, null);
+
+        public Filter {
+            departments = normalized(departments, CourseFacetIndex::departmentKey);
+            credits = credits == null ? Set.of() : Set.copyOf(credits);
+            terms = normalized(terms, CourseSectionIndex::termKey);
+            days &= ALL_DAYS;
+        }
+
+        /** Canonical text of the filter, for binding paging cursors to it. */
+        public String key() {
+            return new TreeSet<>(departments) + "|" + new TreeSet<>(credits) + "|" + new TreeSet<>(terms)
+                    + "|" + days + "|" + startsAfter + "|" + endsBefore;
+        }
+
+        private static Set<String> normalized(Set<String> values, UnaryOperator<String> key) {
+            if (values == null) return Set.of();
+            Set<String> out = new TreeSet<>();
+            for (String v : values) {
+                String k = key.apply(v);
+                if (!k.isEmpty()) out.add(k);
+            }
+            return Set.copyOf(out);
+        }
+    }
+
+    /** Matching courses in catalog order, and counts per facet value (omitting zeros). */
+    public record Result(List<Course> courses, Map<String, Map<String, Integer>> facets) {}
+
+    private final List<Course> courses;
+    private final Map<Course, Integer> ordinals;
+    private final Map<String, OrdinalBitmap> byDepartment;
+    private final Map<Double, OrdinalBitmap> byCredits;
+
+    private final int sectionCount;
+    private final int[] courseOfSection;               // -1 when the section's course is not in the catalog
+    private final Map<String, OrdinalBitmap> byTerm;   // over section ordinals
+    private final OrdinalBitmap[] byDay;               // over section ordinals, one per TimeSlot.Day
+    private final int[] startValues;                   // earliest start of each timed section, ascending
+    private final int[] byStart;                       // [i]: the section starting at startValues[i]
+    private final int[] endValues;                     // latest end of each timed section, ascending
+    private final int[] byEnd;                         // [i]: the section ending at endValues[i]
+
+    private CourseFacetIndex(List<Course> courses, Map<Course, Integer> ordinals,
+                             Map<String, OrdinalBitmap> byDepartment, Map<Double, OrdinalBitmap> byCredits,
+                             int sectionCount, int[] courseOfSection, Map<String, OrdinalBitmap> byTerm,
+                             OrdinalBitmap[] byDay, int[] startValues, int[] byStart, int[] endValues, int[] byEnd) {
+        this.courses = courses;
+        this.ordinals = ordinals;
+        this.byDepartment = byDepartment;
+        this.byCredits = byCredits;
+        this.sectionCount = sectionCount;
+        this.courseOfSection = courseOfSection;
+        this.byTerm = byTerm;
+        this.byDay = byDay;
+        this.startValues = startValues;
+        this.byStart = byStart;
+        this.endValues = endValues;
+        this.byEnd = byEnd;
+    }
+
+    /** Index over {@code sections} as they are, each meeting only at its primary time. */
+    public static CourseFacetIndex build(List<Course> catalog, List<Section> sections) {
+        return build(catalog, SectionColumns.of(sections.stream().filter(s -> s != null).toList()));
+    }
+
+    /** Index over the rows of {@code sections}, with every meeting the store holds for each. */
+    public static CourseFacetIndex build(List<Course> catalog, SectionColumns sections) {
+        List<Course> list = catalog.stream().filter(c -> c != null).toList();
+        int n = list.size();
+        Map<Course, Integer> ordinals = new IdentityHashMap<>();
+        Map<String, Integer> byCode = new HashMap<>();
+        Map<String, OrdinalBitmap.Builder> byDepartment = new TreeMap<>();
+        Map<Double, OrdinalBitmap.Builder> byCredits = new TreeMap<>();
+        for (int i = 0; i < n; i++) {
+            Course c = list.get(i);
+            ordinals.put(c, i);
+            byCode.putIfAbsent(c.normalizedCode(), i);
+            String dept = departmentKey(c.department());
+            if (!dept.isEmpty()) byDepartment.computeIfAbsent(dept, k -> new OrdinalBitmap.Builder()).add(i);
+            byCredits.computeIfAbsent(c.credits(), k -> new OrdinalBitmap.Builder()).add(i);
+        }
+
+        int m = sections.size();
+        int[] courseOf = new int[m];
+        Map<String, OrdinalBitmap.Builder> byTerm = new TreeMap<>();
+        OrdinalBitmap.Builder[] byDay = new OrdinalBitmap.Builder[TimeSlot.Day.values().length];
+        for (int d = 0; d < byDay.length; d++) byDay[d] = new OrdinalBitmap.Builder();
+        // (minute << 32 | section) sorts by minute, then section
+        long[] starts = new long[m];
+        long[] ends = new long[m];
+        int timed = 0;
+        for (int i = 0; i < m; i++) {
+            courseOf[i] = byCode.getOrDefault(CourseSectionIndex.normalizeCode(sections.courseCode(i)), -1);
+            String term = CourseSectionIndex.termKey(sections.term(i));
+            if (!term.isEmpty()) byTerm.computeIfAbsent(term, k -> new OrdinalBitmap.Builder()).add(i);
+
+            MeetingPattern p = sections.meetings(i);
+            int days = p.dayMask();
+            for (int d = 0; d < byDay.length; d++) {
+                if ((days & (1 << d)) != 0) byDay[d].add(i);
+            }
+            if (p.isEmpty()) continue;
+            int latest = 0;
+            for (int k = 0; k < p.size(); k++) latest = Math.max(latest, p.endMinute(k));
+            starts[timed] = (long) p.earliestStart() << 32 | i;
+            ends[timed++] = (long) latest << 32 | i;
+        }
+        Arrays.sort(starts, 0, timed);
+        Arrays.sort(ends, 0, timed);
+        int[] startValues = new int[timed], byStart = new int[timed];
+        int[] endValues = new int[timed], byEnd = new int[timed];
+        for (int k = 0; k < timed; k++) {
+            startValues[k] = (int) (starts[k] >>> 32);
+            byStart[k] = (int) starts[k];
+            endValues[k] = (int) (ends[k] >>> 32);
+            byEnd[k] = (int) ends[k];
+        }
+
+        OrdinalBitmap[] dayBitmaps = new OrdinalBitmap[byDay.length];
+        for (int d = 0; d < byDay.length; d++) dayBitmaps[d] = byDay[d].build();
+        return new CourseFacetIndex(list, ordinals, built(byDepartment), built(byCredits), m, courseOf,
+                built(byTerm), dayBitmaps, startValues, byStart, endValues, byEnd);
+    }
+
+    /**
+     * Courses matching {@code filter} and, unless {@code textMatches} is {@code null}, also contained in it
+     * (compared by identity with this index's catalog, as returned by the same repository snapshot).
+     */
+    public Result query(Filter filter, Collection<Course> textMatches) {
+        long[] text = null;
+        if (textMatches != null) {
+            text = new long[words(courses.size())];
+            for (Course c : textMatches) {
+                Integer ord = ordinals.get(c);
+                if (ord != null) set(text, ord);
+            }
+        }
+        long[] dept = union(byDepartment, filter.departments(), courses.size());
+        long[] credits = union(byCredits, filter.credits(), courses.size());
+
+        long[] termSecs = union(byTerm, filter.terms(), sectionCount);
+        long[] timeSecs = timeWindow(filter.startsAfter(), filter.endsBefore());
+        long[] daySecs = allowedDays(filter.days());
+        long[] sectionFilter = project(and(and(termSecs, timeSecs), daySecs));
+
+        List<Course> out = new ArrayList<>();
+        long[] result = and(and(and(text, dept), credits), sectionFilter);
+        if (result == null) {
+            out.addAll(courses);
+        } else {
+            for (int i = next(result, 0); i >= 0; i = next(result, i + 1)) out.add(courses.get(i));
+        }
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        long[] notDept = and(and(text, credits), sectionFilter);
+        facets.put(DEPARTMENT, counts(byDepartment, notDept));
+        long[] notCredits = and(and(text, dept), sectionFilter);
+        facets.put(CREDITS, counts(byCredits, notCredits));
+
+        long[] courseOnly = and(and(text, dept), credits);
+        long[] timeAndDays = and(timeSecs, daySecs);
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        byTerm.forEach((term, secs) -> put(terms, term, count(and(courseOnly, project(secs.and(timeAndDays, sectionCount))))));
+        facets.put(TERM, terms);
+
+        long[] termAndTime = and(termSecs, timeSecs);
+        Map<String, Integer> days = new LinkedHashMap<>();
+        for (TimeSlot.Day d : TimeSlot.Day.values()) {
+            put(days, d.name(), count(and(courseOnly, project(byDay[d.ordinal()].and(termAndTime, sectionCount)))));
+        }
+        facets.put(DAYS, days);
+        return new Result(out, facets);
+    }
+
+    /** Key a department is indexed and filtered under: trimmed, upper-case. */
+    public static String departmentKey(String department) {
+        return department == null ? "" : department.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private long[] timeWindow(Integer startsAfter, Integer endsBefore) {
+        long[] out = null;
+        if (startsAfter != null) {
+            out = new long[words(sectionCount)];
+            for (int k = lowerBound(startValues, startsAfter); k < byStart.length; k++) set(out, byStart[k]);
+        }
+        if (endsBefore != null) {
+            long[] ending = new long[words(sectionCount)];
+            for (int k = lowerBound(endValues, endsBefore + 1) - 1; k >= 0; k--) set(ending, byEnd[k]);
+            out = and(out, ending);
+        }
+        return out;
+    }
+
+    /** Sections meeting on no day outside {@code allowed}; {@code null} when every day is allowed. */
+    private long[] allowedDays(int allowed) {
+        if (allowed == 0 || allowed == ALL_DAYS) return null;
+        long[] excluded = new long[words(sectionCount)];
+        for (int d = 0; d < byDay.length; d++) {
+            if ((allowed & (1 << d)) == 0) byDay[d].orInto(excluded);
+        }
+        long[] out = new long[excluded.length];
+        for (int w = 0; w < out.length; w++) out[w] = ~excluded[w];
+        if (sectionCount % 64 != 0) out[out.length - 1] &= (1L << sectionCount) - 1;
+        return out;
+    }
+
+    /** Courses owning at least one of {@code sections}; {@code null} (no constraint) stays {@code null}. */
+    private long[] project(long[] sections) {
+        if (sections == null) return null;
+        long[] out = new long[words(courses.size())];
+        for (int i = next(sections, 0); i >= 0; i = next(sections, i + 1)) {
+            if (courseOfSection[i] >= 0) set(out, courseOfSection[i]);
+        }
+        return out;
+    }
+
+    private static <K> long[] union(Map<K, OrdinalBitmap> facet, Set<K> selected, int universe) {
+        if (selected.isEmpty()) return null;
+        long[] out = new long[words(universe)];
+        for (K k : selected) {
+            OrdinalBitmap bits = facet.get(k);
+            if (bits != null) bits.orInto(out);
+        }
+        return out;
+    }
+
+    private static <K> Map<String, Integer> counts(Map<K, OrdinalBitmap> facet, long[] base) {
+        Map<String, Integer> out = new LinkedHashMap<>();
+        facet.forEach((k, bits) -> put(out, String.valueOf(k), bits.countAnd(base)));
+        return out;
+    }
+
+    private static <K> Map<K, OrdinalBitmap> built(Map<K, OrdinalBitmap.Builder> builders) {
+        Map<K, OrdinalBitmap> out = new TreeMap<>();
+        builders.forEach((k, b) -> out.put(k, b.build()));
+        return out;
+    }
+
+    private static void put(Map<String, Integer> counts, String key, int count) {
+        if (count > 0) counts.put(key, count);
+    }
+
+    /** Intersection where {@code null} means "everything"; a shorter array is zero-extended. */
+    private static long[] and(long[] a, long[] b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        long[] out = new long[Math.min(a.length, b.length)];
+        for (int w = 0; w < out.length; w++) out[w] = a[w] & b[w];
+        return out;
+    }
+
+    private static int count(long[] bits) {
+        int n = 0;
+        for (long w : bits) n += Long.bitCount(w);
+        return n;
+    }
+
+    private static int next(long[] bits, int from) {
+        int w = from >>> 6;
+        if (w >= bits.length) return -1;
+        long word = bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == bits.length) return -1;
+            word = bits[w];
+        }
+    }
+
+    /** First index whose value is at least {@code value}; the values may repeat. */
+    private static int lowerBound(int[] sorted, int value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int words(int n) {
+        return OrdinalBitmap.words(n);
+    }
+
+    private static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+}
@@ -0,0 +1,109 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.Course;
+import com.yupathbuilder.backend.model.Section;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Catalog index: CourseSectionIndex.
+ *
+ * <p>Sections grouped by normalized course code and term, so a lookup is two hash probes with no scan, regex or
+ * sort. Each group keeps its row numbers into {@link SectionColumns} twice: sorted by sectionId for
+ * {@link #find}, and in {@link #SEARCH_ORDER} for {@link #findInSearchOrder}; both are immutable views built
+ * once per (re)load. Terms are keyed trimmed and upper-cased; the {@link #ANY_TERM} key holds the course's
+ * sections across all terms.
+ */
+
+public final class CourseSectionIndex {
+
+    public static final String ANY_TERM = "";
+
+    /** Order schedule searches try a course's sections in: earlier start first (untimed last), then sectionId. */
+    public static final Comparator<Section> SEARCH_ORDER = Comparator
+            .comparing((Section s) -> s.startTime() == null ? LocalTime.MAX : s.startTime())
+            .thenComparing(Section::sectionId);
+
+    private final Map<String, Map<String, Group>> byCode;
+
+    private record Group(List<Section> byId, List<Section> searchOrder) {}
+
+    private CourseSectionIndex(Map<String, Map<String, Group>> byCode) {
+        this.byCode = byCode;
+    }
+
+    public static CourseSectionIndex build(List<Section> sections) {
+        return build(SectionColumns.of(sections));
+    }
+
+    /** Groups the rows of {@code sections}; every group is a view that creates its sections on access. */
+    public static CourseSectionIndex build(SectionColumns sections) {
+        Map<Integer, String> codes = new HashMap<>();
+        Map<String, Map<String, List<Integer>>> groups = new HashMap<>();
+        for (int i = 0; i < sections.size(); i++) {
+            int row = i;
+            String code = codes.computeIfAbsent(sections.courseId(i), id -> normalizeCode(sections.courseCode(row)));
+            String term = termKey(sections.term(i));
+            Map<String, List<Integer>> terms = groups.computeIfAbsent(code, k -> new HashMap<>());
+            terms.computeIfAbsent(term, k -> new ArrayList<>()).add(i);
+            if (!term.equals(ANY_TERM)) terms.computeIfAbsent(ANY_TERM, k -> new ArrayList<>()).add(i);
+        }
+
+        Comparator<Integer> byId = Comparator.comparing(sections::sectionId);
+        Comparator<Integer> searchOrder = searchOrder(sections);
+        Map<String, Map<String, Group>> frozen = new HashMap<>();
+        groups.forEach((code, terms) -> {
+            Map<String, Group> sorted = new HashMap<>();
+            terms.forEach((term, rows) -> {
+                rows.sort(byId);
+                List<Section> idOrder = sections.sections(rows.stream().mapToInt(Integer::intValue).toArray());
+                rows.sort(searchOrder);
+                sorted.put(term, new Group(idOrder, sections.sections(rows.stream().mapToInt(Integer::intValue).toArray())));
+            });
+            frozen.put(code, Map.copyOf(sorted));
+        });
+        return new CourseSectionIndex(Map.copyOf(frozen));
+    }
+
+    /** {@link #SEARCH_ORDER} over rows of {@code sections}, compared without creating sections. */
+    static Comparator<Integer> searchOrder(SectionColumns sections) {
+        return Comparator
+                .comparing((Integer row) -> sections.startTime(row) == null ? LocalTime.MAX : sections.startTime(row))
+                .thenComparing(sections::sectionId);
+    }
+
+    /**
+     * Sections of the course in the term, sorted by sectionId; a blank term matches every term.
+     * Both arguments are normalized here, but already-normalized input is not copied.
+     */
+    public List<Section> find(String courseCode, String term) {
+        Group group = group(courseCode, term);
+        return group == null ? List.of() : group.byId();
+    }
+
+    /** Same sections as {@link #find}, in {@link #SEARCH_ORDER}; the stored list itself, not a copy. */
+    public List<Section> findInSearchOrder(String courseCode, String term) {
+        Group group = group(courseCode, term);
+        return group == null ? List.of() : group.searchOrder();
+    }
+
+    private Group group(String courseCode, String term) {
+        Map<String, Group> terms = byCode.get(normalizeCode(courseCode));
+        return terms == null ? null : terms.get(termKey(term));
+    }
+
+    public static String termKey(String term) {
+        return term == null ? ANY_TERM : term.trim().toUpperCase();
+    }
+
+    /** Same as {@link Course#normalizeCode}. */
+    public static String normalizeCode(String code) {
+        return Course.normalizeCode(code);
+    }
+}
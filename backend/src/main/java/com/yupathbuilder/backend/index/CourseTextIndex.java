@@ -0,0 +1,331 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.Course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+
+/**
+ * Catalog index: CourseTextIndex.
+ *
+ * <p>Inverted n-gram index over course codes and titles (lower-cased, {@link Locale#ROOT}) for
+ * substring search. Every 1-, 2- and 3-gram of either field maps to the sorted ordinals of the courses
+ * containing it. A query of up to three characters is answered by one posting list; a longer one by
+ * intersecting the lists of its trigrams, smallest first, and confirming the few survivors with
+ * {@code contains}. Results keep catalog order.
+ *
+ * <p>For typo-tolerant lookups it also keeps a trie over the vocabulary of terms: each course code
+ * with whitespace removed, and each word of each title. {@link #fuzzy} walks it with one
+ * Levenshtein row per trie edge and abandons a subtree as soon as the row's minimum exceeds the edit
+ * bound, so a query only touches the few terms near it, never the whole catalog.
+ *
+ * <p>Each trie node also carries its top {@value #SUGGESTIONS} completions, computed bottom-up at
+ * build time, so {@link #complete} is one descent by the prefix and a copy of that node's list.
+ */
+
+public final class CourseTextIndex {
+
+    static final int GRAM = 3;
+    /** Completions precomputed per trie node. */
+    public static final int SUGGESTIONS = 10;
+
+    private final List<Course> courses;
+    private final String[] codes;
+    private final String[] titles;
+    private final Map<String, int[]> postings;
+    private final TermNode terms;
+
+    private CourseTextIndex(List<Course> courses, String[] codes, String[] titles, Map<String, int[]> postings,
+                            TermNode terms) {
+        this.courses = courses;
+        this.codes = codes;
+        this.titles = titles;
+        this.postings = postings;
+        this.terms = terms;
+    }
+
+    /** A course and the number of edits its closest term(s) need to match the query; 0 is an exact hit. */
+    public record Match(Course course, int distance) {}
+
+    public static CourseTextIndex build(List<Course> catalog) {
+        List<Course> courses = catalog.stream().filter(c -> c != null).toList();
+        int n = courses.size();
+        String[] codes = new String[n];
+        String[] titles = new String[n];
+        Map<String, List<Integer>> lists = new HashMap<>();
+        TermNode.Builder vocabulary = new TermNode.Builder();
+        for (int i = 0; i < n; i++) {
+            codes[i] = lower(courses.get(i).courseCode());
+            titles[i] = lower(courses.get(i).title());
+            Set<String> grams = new HashSet<>();
+            addGrams(codes[i], grams);
+            addGrams(titles[i], grams);
+            for (String g : grams) lists.computeIfAbsent(g, k -> new ArrayList<>()).add(i);
+
+            vocabulary.add(compact(codes[i]), i, i);
+            for (String word : words(titles[i])) vocabulary.add(word, i, n + i);
+        }
+
+        Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((g, ids) -> postings.put(g, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return new CourseTextIndex(courses, codes, titles, Map.copyOf(postings), vocabulary.freeze(n));
+    }
+
+    public int size() {
+        return courses.size();
+    }
+
+    public Course course(int ordinal) {
+        return courses.get(ordinal);
+    }
+
+    /** Courses whose code or title contains {@code query} (case-insensitive), in catalog order. */
+    public List<Course> search(String query) {
+        String q = lower(query);
+        if (q.isEmpty()) return courses;
+
+        return toCourses(exact(q));
+    }
+
+    /**
+     * Up to {@code limit} (at most {@value #SUGGESTIONS}) courses with a term starting with {@code prefix}
+     * (whitespace ignored, so {@code "eecs 20"} completes codes): code matches first, then title-word
+     * matches, each in catalog order.
+     */
+    public List<Course> complete(String prefix, int limit) {
+        String p = compact(lower(prefix));
+        if (p.isEmpty() || limit <= 0) return List.of();
+
+        TermNode node = terms;
+        for (int i = 0; i < p.length() && node != null; i++) node = node.child(p.charAt(i));
+        if (node == null) return List.of();
+
+        int n = courses.size();
+        int count = Math.min(limit, node.top.length);
+        List<Course> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) out.add(courses.get(node.top[i] % n));
+        return out;
+    }
+
+    /**
+     * Typo-tolerant search, best first: exact substring hits (distance 0, as {@link #search}), then
+     * courses where every query word is within {@link #maxEdits} of some term of the course (distance
+     * is the sum over the words). A multi-word query may also match a code written with spaces, e.g.
+     * {@code "eecs 2O30"}. Ties keep catalog order; at most {@code limit} results.
+     */
+    public List<Match> fuzzy(String query, int limit) {
+        String q = lower(query);
+        if (q.isEmpty() || limit <= 0) return List.of();
+
+        Map<Integer, Integer> distance = new HashMap<>();
+        List<String> queryWords = words(q);
+        if (!queryWords.isEmpty()) {
+            Map<Integer, Integer> sum = near(queryWords.get(0));
+            for (int w = 1; w < queryWords.size() && !sum.isEmpty(); w++) {
+                Map<Integer, Integer> next = near(queryWords.get(w));
+                sum.keySet().retainAll(next.keySet());
+                sum.replaceAll((id, d) -> d + next.get(id));
+            }
+            distance.putAll(sum);
+        }
+        if (queryWords.size() > 1) near(compact(q)).forEach((id, d) -> distance.merge(id, d, Math::min));
+        for (int id : exact(q)) distance.put(id, 0);
+
+        return distance.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(e -> new Match(courses.get(e.getKey()), e.getValue()))
+                .toList();
+    }
+
+    /** Edits tolerated for a query word: none up to 2 characters, one up to 5, two beyond. */
+    static int maxEdits(String word) {
+        return word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : 2;
+    }
+
+    /** Course ordinal -> smallest edit distance from {@code word} to one of its terms, for terms within the bound. */
+    private Map<Integer, Integer> near(String word) {
+        Map<Integer, Integer> out = new HashMap<>();
+        int[] row = new int[word.length() + 1];
+        for (int j = 0; j < row.length; j++) row[j] = j;
+        for (int c = 0; c < terms.labels.length; c++) {
+            walk(terms.children[c], terms.labels[c], row, word, maxEdits(word), out);
+        }
+        return out;
+    }
+
+    private static void walk(TermNode node, char ch, int[] prev, String word, int max, Map<Integer, Integer> out) {
+        int[] row = new int[prev.length];
+        row[0] = prev[0] + 1;
+        int min = row[0];
+        for (int j = 1; j < row.length; j++) {
+            int substitute = prev[j - 1] + (word.charAt(j - 1) == ch ? 0 : 1);
+            row[j] = Math.min(substitute, Math.min(row[j - 1], prev[j]) + 1);
+            min = Math.min(min, row[j]);
+        }
+        int d = row[row.length - 1];
+        if (node.courses != null && d <= max) {
+            for (int id : node.courses) out.merge(id, d, Math::min);
+        }
+        if (min > max) return; // every term below is at least this far away
+        for (int c = 0; c < node.labels.length; c++) walk(node.children[c], node.labels[c], row, word, max, out);
+    }
+
+    /** Ordinals for {@link #search}, before mapping to courses. */
+    private int[] exact(String q) {
+        if (q.length() <= GRAM) return posting(q);
+
+        Set<String> distinct = new HashSet<>();
+        for (int i = 0; i + GRAM <= q.length(); i++) distinct.add(q.substring(i, i + GRAM));
+        int[][] lists = new int[distinct.size()][];
+        int k = 0;
+        for (String g : distinct) {
+            int[] list = postings.get(g);
+            if (list == null) return new int[0];
+            lists[k++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+        int[] acc = lists[0];
+        for (int i = 1; i < lists.length && acc.length > 0; i++) acc = intersect(acc, lists[i]);
+
+        int n = 0;
+        int[] out = new int[acc.length];
+        for (int id : acc) {
+            // trigrams can come from different fields or positions: confirm the actual substring
+            if (codes[id].contains(q) || titles[id].contains(q)) out[n++] = id;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /** Ordinals of the courses whose code or title contains {@code gram} (1 to 3 chars, lower-case); empty if none. */
+    int[] posting(String gram) {
+        return postings.getOrDefault(gram, new int[0]);
+    }
+
+    static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private List<Course> toCourses(int[] ids) {
+        List<Course> out = new ArrayList<>(ids.length);
+        for (int id : ids) out.add(courses.get(id));
+        return out;
+    }
+
+    private static void addGrams(String s, Set<String> out) {
+        for (int len = 1; len <= GRAM; len++) {
+            for (int i = 0; i + len <= s.length(); i++) out.add(s.substring(i, i + len));
+        }
+    }
+
+    /** Letter/digit runs of an already lower-cased string. */
+    static List<String> words(String s) {
+        List<String> out = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= s.length(); i++) {
+            boolean word = i < s.length() && Character.isLetterOrDigit(s.charAt(i));
+            if (word && start < 0) start = i;
+            else if (!word && start >= 0) {
+                out.add(s.substring(start, i));
+                start = -1;
+            }
+        }
+        return out;
+    }
+
+    private static String compact(String s) {
+        StringBuilder b = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            if (!Character.isWhitespace(s.charAt(i))) b.append(s.charAt(i));
+        }
+        return b.toString();
+    }
+
+    static String lower(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Trie over the term vocabulary; children sorted by label. Completion ranks are
+     * {@code ordinal} for a code term and {@code n + ordinal} for a title word, so lower is better.
+     */
+    private static final class TermNode {
+        private static final int[] NONE = new int[0];
+
+        final char[] labels;
+        final TermNode[] children;
+        final int[] courses; // ordinals having the term ending here, or null
+        final int[] top;     // best SUGGESTIONS ranks in this subtree, one per course, ascending
+
+        private TermNode(char[] labels, TermNode[] children, int[] courses, int[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.courses = courses;
+            this.top = top;
+        }
+
+        TermNode child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i < 0 ? null : children[i];
+        }
+
+        private static final class Builder {
+            private final Map<Character, Builder> children = new TreeMap<>();
+            private final Map<Integer, Integer> ranks = new TreeMap<>(); // ordinal -> best rank of a term ending here
+
+            void add(String term, int course, int rank) {
+                if (term.isEmpty()) return;
+                Builder node = this;
+                for (int i = 0; i < term.length(); i++) node = node.children.computeIfAbsent(term.charAt(i), c -> new Builder());
+                node.ranks.merge(course, rank, Math::min);
+            }
+
+            TermNode freeze(int n) {
+                char[] labels = new char[children.size()];
+                TermNode[] frozen = new TermNode[children.size()];
+                int i = 0;
+                for (Map.Entry<Character, Builder> e : children.entrySet()) {
+                    labels[i] = e.getKey();
+                    frozen[i++] = e.getValue().freeze(n);
+                }
+                int[] ids = ranks.isEmpty() ? null : ranks.keySet().stream().mapToInt(Integer::intValue).toArray();
+                return new TermNode(labels, frozen, ids, top(n, frozen));
+            }
+
+            /**
+             * Merges this node's ranks with the children's lists. Each of this node's best courses either
+             * has a term ending here or is among the best of the child it continues into.
+             */
+            private int[] top(int n, TermNode[] frozen) {
+                if (ranks.isEmpty() && frozen.length == 1) return frozen[0].top; // chain node: share
+                Map<Integer, Integer> best = new HashMap<>(ranks);
+                for (TermNode child : frozen) {
+                    for (int rank : child.top) best.merge(rank % n, rank, Math::min);
+                }
+                if (best.isEmpty()) return NONE;
+                return best.values().stream().mapToInt(Integer::intValue).sorted().limit(SUGGESTIONS).toArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.yupathbuilder.backend.index;
+
+import java.util.Arrays;
+
+
+/**
+ * Catalog index: OrdinalBitmap.
+ *
+ * <p>Immutable compressed set of course or section ordinals for one facet value. It is stored in whichever
+ * container is smallest: sorted positions (sparse values), {@code [start, end)} runs (values held by
+ * consecutive rows, as catalog files group them) or plain 64-bit words (dense values), as Roaring chooses
+ * per chunk. Queries combine bitmaps into an uncompressed word array of the query's universe, so each
+ * operation costs O(size of this bitmap) plus the words it touches.
+ */
+
+final class OrdinalBitmap {
+
+    private enum Kind { POSITIONS, RUNS, WORDS }
+
+    private final Kind kind;
+    private final int[] values;  // POSITIONS: sorted ordinals; RUNS: start, end (exclusive) pairs
+    private final long[] words;  // WORDS
+    private final int cardinality;
+
+    private OrdinalBitmap(Kind kind, int[] values, long[] words, int cardinality) {
+        this.kind = kind;
+        this.values = values;
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    /** Collects ordinals in increasing order. */
+    static final class Builder {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] >= ordinal) {
+                throw new IllegalArgumentException("Ordinals must increase: " + ordinal);
+            }
+            if (size == ordinals.length) ordinals = Arrays.copyOf(ordinals, size * 2);
+            ordinals[size++] = ordinal;
+        }
+
+        OrdinalBitmap build() {
+            int runs = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || ordinals[i] != ordinals[i - 1] + 1) runs++;
+            }
+            int wordCount = size == 0 ? 0 : words(ordinals[size - 1] + 1);
+            // sizes in ints: one per position, two per run, two per word
+            if (2 * runs < size && 2 * runs <= 2 * wordCount) {
+                int[] out = new int[2 * runs];
+                int r = -1;
+                for (int i = 0; i < size; i++) {
+                    if (i == 0 || ordinals[i] != ordinals[i - 1] + 1) out[2 * ++r] = ordinals[i];
+                    out[2 * r + 1] = ordinals[i] + 1;
+                }
+                return new OrdinalBitmap(Kind.RUNS, out, null, size);
+            }
+            if (size <= 2 * wordCount) {
+                return new OrdinalBitmap(Kind.POSITIONS, Arrays.copyOf(ordinals, size), null, size);
+            }
+            long[] out = new long[wordCount];
+            for (int i = 0; i < size; i++) out[ordinals[i] >>> 6] |= 1L << ordinals[i];
+            return new OrdinalBitmap(Kind.WORDS, null, out, size);
+        }
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    /** Ints of storage this bitmap holds, for comparing containers. */
+    int storedInts() {
+        return kind == Kind.WORDS ? 2 * words.length : values.length;
+    }
+
+    /** Sets this bitmap's ordinals in {@code into}; ordinals beyond its length are dropped. */
+    void orInto(long[] into) {
+        switch (kind) {
+            case POSITIONS -> {
+                for (int v : values) {
+                    if ((v >>> 6) < into.length) into[v >>> 6] |= 1L << v;
+                }
+            }
+            case RUNS -> {
+                int limit = into.length << 6;
+                for (int r = 0; r < values.length; r += 2) {
+                    int start = values[r], end = Math.min(values[r + 1], limit);
+                    for (int w = start >>> 6; w < words(end); w++) into[w] |= rangeMask(w, start, end);
+                }
+            }
+            case WORDS -> {
+                for (int w = 0; w < Math.min(words.length, into.length); w++) into[w] |= words[w];
+            }
+        }
+    }
+
+    /** Intersection with {@code dense} as a new word array; {@code null} means every one of {@code universe}. */
+    long[] and(long[] dense, int universe) {
+        if (dense == null) {
+            long[] out = new long[words(universe)];
+            orInto(out);
+            return out;
+        }
+        long[] out = new long[dense.length];
+        orInto(out);
+        for (int w = 0; w < out.length; w++) out[w] &= dense[w];
+        return out;
+    }
+
+    /** Size of the intersection with {@code dense}; {@code null} means everything. */
+    int countAnd(long[] dense) {
+        if (dense == null) return cardinality;
+        int n = 0;
+        switch (kind) {
+            case POSITIONS -> {
+                for (int v : values) {
+                    if ((v >>> 6) < dense.length && (dense[v >>> 6] & (1L << v)) != 0) n++;
+                }
+            }
+            case RUNS -> {
+                int limit = dense.length << 6;
+                for (int r = 0; r < values.length; r += 2) {
+                    int start = values[r], end = Math.min(values[r + 1], limit);
+                    for (int w = start >>> 6; w < words(end); w++) {
+                        n += Long.bitCount(dense[w] & rangeMask(w, start, end));
+                    }
+                }
+            }
+            case WORDS -> {
+                for (int w = 0; w < Math.min(words.length, dense.length); w++) n += Long.bitCount(words[w] & dense[w]);
+            }
+        }
+        return n;
+    }
+
+    /** Bits of word {@code w} inside {@code [start, end)}. */
+    private static long rangeMask(int w, int start, int end) {
+        long mask = -1L;
+        if (start > w << 6) mask &= -1L << start;
+        if (end < (w + 1) << 6) mask &= (1L << end) - 1;
+        return mask;
+    }
+
+    static int words(int n) {
+        return (n + 63) >>> 6;
+    }
+}
@@ -0,0 +1,260 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+
+/**
+ * Catalog index: SectionColumns.
+ *
+ * <p>The section store of one catalog load, filled in one pass over its rows; a row costs ten ints and
+ * its id string, a meeting nine bytes, and each distinct value is stored once.
+ *
+ * <p>It is kept column-wise: the section id is kept as is, every other text field, primary time and
+ * meeting pattern is an {@code int} id into a small dictionary, and every meeting is one entry of the flat
+ * {@code meetingStart}/{@code meetingEnd}/{@code meetingDays} columns (a section's meetings are
+ * {@code [meetingFrom[row], meetingFrom[row + 1])}). Index builders and conflict checks scan those
+ * primitive columns; {@link Section} records are only created when a caller reads one, through
+ * {@link #section} or the list views. A {@link #slice} shares the columns of a contiguous row range.
+ *
+ * <p>A row's pattern may hold more meetings than its section's primary one ({@link Section#meetings()}),
+ * e.g. a lab listed on its own CSV row; {@link #meetings(int)} is the full pattern.
+ */
+
+public final class SectionColumns {
+
+    private final String[] strings;
+    private final LocalTime[] times;
+    private final MeetingPattern[] patterns;
+
+    // one entry per row
+    private final String[] id;
+    private final int[] course, term, instructor, days, location, startTime, endTime, capacity, pattern;
+    private final int[] meetingFrom;
+
+    // one entry per meeting
+    private final int[] meetingStart, meetingEnd;
+    private final byte[] meetingDays;
+
+    private final int offset;
+    private final int size;
+
+    private SectionColumns(SectionColumns all, int offset, int size) {
+        this.strings = all.strings;
+        this.times = all.times;
+        this.patterns = all.patterns;
+        this.id = all.id;
+        this.course = all.course;
+        this.term = all.term;
+        this.instructor = all.instructor;
+        this.days = all.days;
+        this.location = all.location;
+        this.startTime = all.startTime;
+        this.endTime = all.endTime;
+        this.capacity = all.capacity;
+        this.pattern = all.pattern;
+        this.meetingFrom = all.meetingFrom;
+        this.meetingStart = all.meetingStart;
+        this.meetingEnd = all.meetingEnd;
+        this.meetingDays = all.meetingDays;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    private SectionColumns(List<Section> sections, List<MeetingPattern> meetingsOf) {
+        int n = sections.size();
+        Dictionary<String> str = new Dictionary<>();
+        Dictionary<LocalTime> tm = new Dictionary<>();
+        Dictionary<MeetingPattern> pat = new Dictionary<>();
+        id = new String[n];
+        course = new int[n];
+        term = new int[n];
+        instructor = new int[n];
+        days = new int[n];
+        location = new int[n];
+        startTime = new int[n];
+        endTime = new int[n];
+        capacity = new int[n];
+        pattern = new int[n];
+        meetingFrom = new int[n + 1];
+
+        int meetings = 0;
+        for (MeetingPattern p : meetingsOf) meetings += p.size();
+        meetingStart = new int[meetings];
+        meetingEnd = new int[meetings];
+        meetingDays = new byte[meetings];
+
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            Section s = sections.get(i);
+            id[i] = s.sectionId();
+            course[i] = str.id(s.courseCode());
+            term[i] = str.id(s.term());
+            instructor[i] = str.id(s.instructor());
+            days[i] = str.id(s.days());
+            location[i] = str.id(s.location());
+            startTime[i] = tm.id(s.startTime());
+            endTime[i] = tm.id(s.endTime());
+            capacity[i] = s.capacity();
+            MeetingPattern p = meetingsOf.get(i);
+            pattern[i] = pat.id(p);
+            meetingFrom[i] = m;
+            for (int k = 0; k < p.size(); k++, m++) {
+                meetingStart[m] = p.startMinute(k);
+                meetingEnd[m] = p.endMinute(k);
+                meetingDays[m] = (byte) p.dayMask(k);
+            }
+        }
+        meetingFrom[n] = m;
+
+        strings = str.values.toArray(new String[0]);
+        times = tm.values.toArray(new LocalTime[0]);
+        patterns = pat.values.toArray(new MeetingPattern[0]);
+        offset = 0;
+        size = n;
+    }
+
+    /** Rows holding {@code sections}, each meeting only at its primary time. */
+    public static SectionColumns of(List<Section> sections) {
+        return of(sections, sections.stream().map(Section::meetings).toList());
+    }
+
+    /** Rows holding {@code sections}, where {@code meetings.get(i)} is every meeting of {@code sections.get(i)}. */
+    public static SectionColumns of(List<Section> sections, List<MeetingPattern> meetings) {
+        if (meetings.size() != sections.size()) throw new IllegalArgumentException("one meeting pattern per section");
+        return new SectionColumns(sections, meetings);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Rows {@code [from, to)} of this store as a store of their own, sharing the columns. */
+    public SectionColumns slice(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        return new SectionColumns(this, offset + from, to - from);
+    }
+
+    /** A new {@link Section} holding row {@code row}. */
+    public Section section(int row) {
+        int r = offset + Objects.checkIndex(row, size);
+        return new Section(id[r], str(course[r]), str(term[r]), str(instructor[r]), str(days[r]),
+                time(startTime[r]), time(endTime[r]), str(location[r]), capacity[r]);
+    }
+
+    /** Every meeting of row {@code row}, including those beyond the section's primary one. */
+    public MeetingPattern meetings(int row) {
+        return patterns[pattern[offset + Objects.checkIndex(row, size)]];
+    }
+
+    /** Every row in order, materialized on access. */
+    public List<Section> sections() {
+        return new View(null);
+    }
+
+    /** The given rows in the given order, materialized on access. */
+    public List<Section> sections(int[] rows) {
+        return new View(rows.clone());
+    }
+
+    public String sectionId(int row) {
+        return id[offset + row];
+    }
+
+    public String courseCode(int row) {
+        return str(course[offset + row]);
+    }
+
+    public String term(int row) {
+        return str(term[offset + row]);
+    }
+
+    public LocalTime startTime(int row) {
+        return time(startTime[offset + row]);
+    }
+
+    /** True when {@code s} is equal to the section in {@code row}, compared without creating one. */
+    public boolean matches(int row, Section s) {
+        int r = offset + row;
+        return s != null && Objects.equals(s.sectionId(), id[r]) && Objects.equals(s.courseCode(), str(course[r]))
+                && Objects.equals(s.term(), str(term[r])) && Objects.equals(s.instructor(), str(instructor[r]))
+                && Objects.equals(s.days(), str(days[r])) && Objects.equals(s.location(), str(location[r]))
+                && Objects.equals(s.startTime(), time(startTime[r])) && Objects.equals(s.endTime(), time(endTime[r]))
+                && s.capacity() == capacity[r];
+    }
+
+    /** The row's meetings are {@code [meetingFrom(row), meetingTo(row))} in the meeting columns. */
+    int meetingFrom(int row) {
+        return meetingFrom[offset + row];
+    }
+
+    int meetingTo(int row) {
+        return meetingFrom[offset + row + 1];
+    }
+
+    int meetingStart(int meeting) {
+        return meetingStart[meeting];
+    }
+
+    int meetingEnd(int meeting) {
+        return meetingEnd[meeting];
+    }
+
+    int meetingDays(int meeting) {
+        return meetingDays[meeting] & 0xFF;
+    }
+
+    /** Dictionary id of the row's course code; equal ids mean equal codes within this store and its slices. */
+    int courseId(int row) {
+        return course[offset + row];
+    }
+
+    private String str(int i) {
+        return i < 0 ? null : strings[i];
+    }
+
+    private LocalTime time(int i) {
+        return i < 0 ? null : times[i];
+    }
+
+    private final class View extends AbstractList<Section> implements RandomAccess {
+        private final int[] rows; // null -> all rows
+
+        View(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Section get(int index) {
+            return section(rows == null ? index : rows[Objects.checkIndex(index, rows.length)]);
+        }
+
+        @Override
+        public int size() {
+            return rows == null ? size : rows.length;
+        }
+    }
+
+    /** Assigns dense ids to distinct values; {@code null} is -1. */
+    private static final class Dictionary<T> {
+        final List<T> values = new ArrayList<>();
+        private final Map<T, Integer> ids = new HashMap<>();
+
+        int id(T value) {
+            if (value == null) return -1;
+            Integer known = ids.putIfAbsent(value, values.size());
+            if (known != null) return known;
+            values.add(value);
+            return values.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Catalog index: SectionConflictMatrix.
+ *
+ * <p>Overlaps between the sections of one term, found at (re)load by a start-ordered sweep over their
+ * meetings in O(m log m + p log p) time for m meetings and p overlapping pairs.
+ *
+ * <p>Each section gets a dense ordinal (its row in the term's {@link SectionColumns}) and a sorted list of
+ * the ordinals of every other section it overlaps (some pair of their {@link MeetingPattern} meetings
+ * shares a day with {@code start < otherEnd && otherStart < end}).
+ * The lists are stored back to back, so the matrix costs four bytes per conflicting pair rather than n² bits.
+ * Sections without times never conflict, as in the scheduler.
+ *
+ * <p>It also lists each course's ordinals in {@link CourseSectionIndex#SEARCH_ORDER}, so a schedule search
+ * can take its candidates, their overlaps and their meetings from the matrix alone and only create the
+ * {@link Section}s it returns.
+ */
+
+public final class SectionConflictMatrix {
+
+    private final SectionColumns sections;
+    private final int[] byId;      // ordinals sorted by section id
+    private final int[] from;      // conflicts of ordinal i are adjacent[from[i] .. from[i + 1])
+    private final int[] adjacent;
+    private final Map<String, int[]> byCourse; // normalized course code -> ordinals in search order
+
+    private SectionConflictMatrix(SectionColumns sections, int[] byId, int[] from, int[] adjacent,
+                                  Map<String, int[]> byCourse) {
+        this.sections = sections;
+        this.byId = byId;
+        this.from = from;
+        this.adjacent = adjacent;
+        this.byCourse = byCourse;
+    }
+
+    public static SectionConflictMatrix build(List<Section> termSections) {
+        return build(SectionColumns.of(termSections));
+    }
+
+    /**
+     * Builds the matrix for one term's sections; ordinals are rows of {@code termSections}. Sorting meetings
+     * by start time means each meeting is only compared with those starting before it ends, so the cost
+     * follows the number of time overlaps rather than n². The sweep reads the primitive meeting columns.
+     */
+    public static SectionConflictMatrix build(SectionColumns termSections) {
+        int n = termSections.size();
+
+        // meetings in start order as (start << 32 | meeting), with the owning row alongside
+        int first = n == 0 ? 0 : termSections.meetingFrom(0), count = n == 0 ? 0 : termSections.meetingTo(n - 1) - first;
+        long[] order = new long[count];
+        int[] owner = new int[count];
+        for (int i = 0; i < n; i++) {
+            for (int m = termSections.meetingFrom(i); m < termSections.meetingTo(i); m++) owner[m - first] = i;
+        }
+        for (int k = 0; k < count; k++) order[k] = (long) termSections.meetingStart(first + k) << 32 | k;
+        Arrays.sort(order);
+
+        // both directions of every overlapping pair as (row << 32 | other row); a pair may repeat per meeting
+        long[] pairs = new long[16];
+        int size = 0;
+        for (int x = 0; x < count; x++) {
+            int a = (int) order[x], aRow = owner[a], aDays = termSections.meetingDays(first + a);
+            int aEnd = termSections.meetingEnd(first + a);
+            for (int y = x + 1; y < count; y++) {
+                if ((int) (order[y] >>> 32) >= aEnd) break;
+                int b = (int) order[y], bRow = owner[b];
+                if (aRow == bRow || (aDays & termSections.meetingDays(first + b)) == 0) continue;
+                if (size + 2 > pairs.length) pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                pairs[size++] = (long) aRow << 32 | bRow;
+                pairs[size++] = (long) bRow << 32 | aRow;
+            }
+        }
+        Arrays.sort(pairs, 0, size);
+
+        int[] from = new int[n + 1];
+        int[] adjacent = new int[size];
+        int k = 0;
+        for (int p = 0; p < size; p++) {
+            if (p > 0 && pairs[p] == pairs[p - 1]) continue;
+            from[(int) (pairs[p] >>> 32) + 1]++;
+            adjacent[k++] = (int) pairs[p];
+        }
+        for (int i = 0; i < n; i++) from[i + 1] += from[i];
+        return new SectionConflictMatrix(termSections, byId(termSections), from, Arrays.copyOf(adjacent, k),
+                courses(termSections));
+    }
+
+    /**
+     * Matrix over {@code termSections} from the lists {@link #conflictOffsets()} and {@link #conflictList()}
+     * returned for the same rows (e.g. as saved with a catalog snapshot), without sweeping the meetings.
+     *
+     * @throws IllegalArgumentException if the lists do not describe {@code termSections.size()} rows
+     */
+    public static SectionConflictMatrix of(SectionColumns termSections, int[] offsets, int[] conflicts) {
+        int n = termSections.size();
+        if (offsets.length != n + 1 || offsets[0] != 0 || offsets[n] != conflicts.length) {
+            throw new IllegalArgumentException("Conflict lists do not match " + n + " sections");
+        }
+        for (int i = 0; i < n; i++) {
+            if (offsets[i] > offsets[i + 1]) throw new IllegalArgumentException("Conflict offsets decrease at " + i);
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                int other = conflicts[k];
+                if (other < 0 || other >= n || (k > offsets[i] && other <= conflicts[k - 1])) {
+                    throw new IllegalArgumentException("Conflicts of " + i + " are not sorted ordinals");
+                }
+            }
+        }
+        return new SectionConflictMatrix(termSections, byId(termSections), offsets, conflicts, courses(termSections));
+    }
+
+    private static int[] byId(SectionColumns termSections) {
+        int n = termSections.size();
+        Integer[] ids = new Integer[n];
+        for (int i = 0; i < n; i++) ids[i] = i;
+        Arrays.sort(ids, Comparator.comparing(termSections::sectionId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        int[] byId = new int[n];
+        for (int i = 0; i < n; i++) byId[i] = ids[i];
+        return byId;
+    }
+
+    private static Map<String, int[]> courses(SectionColumns termSections) {
+        Map<Integer, String> codes = new HashMap<>();
+        Map<String, List<Integer>> rows = new HashMap<>();
+        for (int i = 0; i < termSections.size(); i++) {
+            int row = i;
+            String code = codes.computeIfAbsent(termSections.courseId(i),
+                    id -> CourseSectionIndex.normalizeCode(termSections.courseCode(row)));
+            rows.computeIfAbsent(code, c -> new ArrayList<>()).add(i);
+        }
+        Comparator<Integer> searchOrder = CourseSectionIndex.searchOrder(termSections);
+        Map<String, int[]> out = new HashMap<>();
+        rows.forEach((code, list) -> {
+            list.sort(searchOrder);
+            out.put(code, list.stream().mapToInt(Integer::intValue).toArray());
+        });
+        return Map.copyOf(out);
+    }
+
+    public int size() {
+        return sections.size();
+    }
+
+    /** The section at {@code ordinal}, created on each call. */
+    public Section section(int ordinal) {
+        return sections.section(ordinal);
+    }
+
+    /** Every meeting of the section at {@code ordinal}, including those beyond its primary one. */
+    public MeetingPattern meetings(int ordinal) {
+        return sections.meetings(ordinal);
+    }
+
+    public String sectionId(int ordinal) {
+        return sections.sectionId(ordinal);
+    }
+
+    public String term(int ordinal) {
+        return sections.term(ordinal);
+    }
+
+    /**
+     * Ordinals of the course's sections in {@link CourseSectionIndex#SEARCH_ORDER}; empty when the term
+     * has none. The code is normalized here. Returns a copy.
+     */
+    public int[] courseOrdinals(String courseCode) {
+        int[] ordinals = byCourse.get(CourseSectionIndex.normalizeCode(courseCode));
+        return ordinals == null ? new int[0] : ordinals.clone();
+    }
+
+    /**
+     * Ordinal of {@code s} in this matrix, or -1 when it is not (an unchanged copy of) a catalog section,
+     * e.g. a section edited client-side. Callers must fall back to comparing times in that case.
+     * Found by a binary search over section ids, then checked field by field against the row.
+     */
+    public int ordinalOf(Section s) {
+        if (s == null || s.sectionId() == null) return -1;
+        int lo = 0, hi = byId.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            String id = sections.sectionId(byId[mid]);
+            int cmp = id == null ? -1 : id.compareTo(s.sectionId());
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return firstMatch(mid, s);
+        }
+        return -1;
+    }
+
+    // several rows of a term may share an id (the CSV does not forbid it); any equal one will do
+    private int firstMatch(int at, Section s) {
+        for (int i = at; i >= 0 && s.sectionId().equals(sections.sectionId(byId[i])); i--) {
+            if (sections.matches(byId[i], s)) return byId[i];
+        }
+        for (int i = at + 1; i < byId.length && s.sectionId().equals(sections.sectionId(byId[i])); i++) {
+            if (sections.matches(byId[i], s)) return byId[i];
+        }
+        return -1;
+    }
+
+    /** Where each ordinal's list starts in {@link #conflictList()}, plus its total length. Returns a copy. */
+    public int[] conflictOffsets() {
+        return from.clone();
+    }
+
+    /** Every ordinal's sorted list of overlapping ordinals, back to back. Returns a copy. */
+    public int[] conflictList() {
+        return adjacent.clone();
+    }
+
+    public boolean conflicts(int a, int b) {
+        return Arrays.binarySearch(adjacent, from[a], from[a + 1], b) >= 0;
+    }
+
+    /** Empty bitset over this matrix's ordinals, for {@link #addConflictsOf}. */
+    public long[] newBitset() {
+        return new long[(sections.size() + 63) >>> 6];
+    }
+
+    /** Sets the bit of every section that overlaps {@code ordinal} in {@code into}. */
+    public void addConflictsOf(int ordinal, long[] into) {
+        for (int i = from[ordinal]; i < from[ordinal + 1]; i++) into[adjacent[i] >>> 6] |= 1L << adjacent[i];
+    }
+}
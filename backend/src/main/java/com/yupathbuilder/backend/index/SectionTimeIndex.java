@@ -0,0 +1,172 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.model.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Catalog index: SectionTimeIndex.
+ *
+ * <p>Meeting times of one term's sections by weekday, sorted at (re)load in O(m log m) for m meeting
+ * days and held in seven ints per meeting day.
+ *
+ * <p>Per weekday, every meeting on that day is sorted by start minute, with a max-end segment tree over
+ * that order. Meetings overlapping {@code [from, to)} are the prefix starting before {@code to} whose end
+ * is after {@code from}; the tree skips any block ending by {@code from}, so a query costs
+ * O(log n + matches) per day. Meetings contained in the window start in
+ * {@code [from, to)}, a binary-searched range.
+ */
+
+public final class SectionTimeIndex {
+
+    private final SectionColumns sections;
+    private final String[] departments;
+    private final Day[] days;
+
+    private SectionTimeIndex(SectionColumns sections, String[] departments, Day[] days) {
+        this.sections = sections;
+        this.departments = departments;
+        this.days = days;
+    }
+
+    public static SectionTimeIndex build(List<Section> termSections) {
+        return build(SectionColumns.of(termSections));
+    }
+
+    /** Builds the index over one term's rows, reading the primitive meeting columns. */
+    public static SectionTimeIndex build(SectionColumns termSections) {
+        int n = termSections.size();
+        String[] departments = new String[n];
+        Map<Integer, String> byCourse = new HashMap<>();
+        List<List<int[]>> perDay = new ArrayList<>();
+        for (int d = 0; d < TimeSlot.Day.values().length; d++) perDay.add(new ArrayList<>());
+
+        for (int i = 0; i < n; i++) {
+            int row = i;
+            departments[i] = byCourse.computeIfAbsent(termSections.courseId(i), id -> department(termSections.courseCode(row)));
+            for (int m = termSections.meetingFrom(i); m < termSections.meetingTo(i); m++) {
+                int mask = termSections.meetingDays(m);
+                for (int d = 0; d < perDay.size(); d++) {
+                    if ((mask & (1 << d)) != 0) perDay.get(d).add(new int[]{termSections.meetingStart(m), termSections.meetingEnd(m), i});
+                }
+            }
+        }
+
+        Day[] days = new Day[perDay.size()];
+        for (int d = 0; d < days.length; d++) days[d] = Day.of(perDay.get(d));
+        return new SectionTimeIndex(termSections, departments, days);
+    }
+
+    public int size() {
+        return sections.size();
+    }
+
+    /**
+     * Sections with a meeting on one of {@code dayMask}'s days ({@link TimeSlot.Day#mask}, 0 for any day)
+     * that overlaps {@code [from, to)} or, when {@code contained}, lies within it. Minutes since midnight.
+     * {@code department} (e.g. "EECS", matched against the letters of the course code; case-insensitive)
+     * may be {@code null}. Results follow the term's section order, each section once.
+     */
+    public List<Section> find(int dayMask, int from, int to, boolean contained, String department) {
+        if (from >= to) throw new IllegalArgumentException("time window must end after it starts");
+        int mask = dayMask == 0 ? (1 << days.length) - 1 : dayMask;
+        String dept = department == null || department.isBlank() ? null : department.trim().toUpperCase(Locale.ROOT);
+
+        long[] hits = new long[(sections.size() + 63) >>> 6];
+        for (int d = 0; d < days.length; d++) {
+            if ((mask & (1 << d)) == 0 || days[d].size() == 0) continue;
+            Day day = days[d];
+            int startsBeforeEnd = lowerBound(day.start, to);
+            if (contained) {
+                for (int i = lowerBound(day.start, from); i < startsBeforeEnd; i++) {
+                    if (day.end[i] <= to) hits[day.section[i] >>> 6] |= 1L << day.section[i];
+                }
+            } else {
+                day.overlapping(1, 0, day.size(), startsBeforeEnd, from, hits);
+            }
+        }
+
+        List<Section> out = new ArrayList<>();
+        for (int w = 0; w < hits.length; w++) {
+            for (long bits = hits[w]; bits != 0; bits &= bits - 1) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                if (dept == null || dept.equals(departments[i])) out.add(sections.section(i));
+            }
+        }
+        return out;
+    }
+
+    /** Leading letters of the course code, upper-case ("EECS 2030" -> "EECS"). */
+    static String department(String courseCode) {
+        String code = CourseSectionIndex.normalizeCode(courseCode);
+        int n = 0;
+        while (n < code.length() && Character.isLetter(code.charAt(n))) n++;
+        return code.substring(0, n);
+    }
+
+    private static int lowerBound(int[] sorted, int value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Meetings on one weekday, sorted by start; {@code maxEnd} is a segment tree rooted at 1. */
+    private static final class Day {
+        final int[] start;
+        final int[] end;
+        final int[] section;
+        final int[] maxEnd;
+
+        private Day(int[] start, int[] end, int[] section) {
+            this.start = start;
+            this.end = end;
+            this.section = section;
+            this.maxEnd = new int[Math.max(1, 4 * start.length)];
+            if (start.length > 0) fill(1, 0, start.length);
+        }
+
+        static Day of(List<int[]> meetings) {
+            meetings.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[2], b[2]));
+            int n = meetings.size();
+            int[] start = new int[n], end = new int[n], section = new int[n];
+            for (int i = 0; i < n; i++) {
+                start[i] = meetings.get(i)[0];
+                end[i] = meetings.get(i)[1];
+                section[i] = meetings.get(i)[2];
+            }
+            return new Day(start, end, section);
+        }
+
+        int size() {
+            return start.length;
+        }
+
+        private int fill(int node, int lo, int hi) {
+            if (hi - lo == 1) return maxEnd[node] = end[lo];
+            int mid = (lo + hi) >>> 1;
+            return maxEnd[node] = Math.max(fill(2 * node, lo, mid), fill(2 * node + 1, mid, hi));
+        }
+
+        /** Marks meetings in {@code [lo, hi) ∩ [0, limit)} ending after {@code from}. */
+        void overlapping(int node, int lo, int hi, int limit, int from, long[] hits) {
+            if (lo >= limit || maxEnd[node] <= from) return;
+            if (hi - lo == 1) {
+                hits[section[lo] >>> 6] |= 1L << section[lo];
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            overlapping(2 * node, lo, mid, limit, from, hits);
+            overlapping(2 * node + 1, mid, hi, limit, from, hits);
+        }
+    }
+}
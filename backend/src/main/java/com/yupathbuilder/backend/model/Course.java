@@ -17,6 +17,22 @@ public record Course(
         String prerequisites
 ) {
     public String normalizedCode() {
-        return courseCode == null ? "" : courseCode.replaceAll("\\s+", "").toUpperCase();
+        return normalizeCode(courseCode);
+    }
+
+    /**
+     * Upper-case code without whitespace ({@code " eecs 2030"} -> {@code "EECS2030"}); "" for {@code null}.
+     * A code that is already normalized is returned as is, so catalogs that store normalized codes (as
+     * sections.csv usually does) never copy them.
+     */
+    public static String normalizeCode(String code) {
+        if (code == null) return "";
+        for (int i = 0; i < code.length(); i++) {
+            char ch = code.charAt(i);
+            if (Character.isWhitespace(ch) || Character.isLowerCase(ch)) {
+                return code.replaceAll("\\s+", "").toUpperCase();
+            }
+        }
+        return code;
     }
 }
@@ -0,0 +1,133 @@
+package com.yupathbuilder.backend.model;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Domain model: MeetingPattern.
+ *
+ * <p>Simple immutable data structures used throughout the backend.
+ *
+ * <p>When a section meets during the week, compiled once: one entry per meeting (e.g. lecture plus lab)
+ * holding a day bitmask (bit {@link TimeSlot.Day#ordinal()}, see {@link TimeSlot.Day#mask}) and
+ * start/end minutes since midnight. Overlap checks are plain integer comparisons.
+ * Meetings without a day or with {@code end <= start} are dropped, so an untimed section has no meetings;
+ * so are meetings whose days are not a day list ({@link TimeSlot.Day#maskOrZero}). Request paths that must
+ * reject those check {@link TimeSlot.Day#mask} first. The catalog shares equal patterns through its load dictionary.
+ */
+
+public final class MeetingPattern {
+
+    public static final MeetingPattern NONE = new MeetingPattern(new int[0], new int[0], new int[0]);
+
+    /** One meeting, as {@link #meetings()} returns it. */
+    public record Meeting(int dayMask, int startMinute, int endMinute) {}
+
+    private final int[] dayMask;
+    private final int[] start;
+    private final int[] end;
+
+    private MeetingPattern(int[] dayMask, int[] start, int[] end) {
+        this.dayMask = dayMask;
+        this.start = start;
+        this.end = end;
+    }
+
+    /** Pattern of a single meeting; {@link #NONE} when untimed or without (valid) days. */
+    public static MeetingPattern of(String days, LocalTime startTime, LocalTime endTime) {
+        return NONE.plus(days, startTime, endTime);
+    }
+
+    public static MeetingPattern of(List<Meeting> meetings) {
+        MeetingPattern p = NONE;
+        if (meetings == null) return p;
+        for (Meeting m : meetings) {
+            if (m != null) p = p.plus(m.dayMask(), m.startMinute(), m.endMinute());
+        }
+        return p;
+    }
+
+    /** This pattern plus one more meeting (e.g. a lab row for the same section). */
+    public MeetingPattern plus(String days, LocalTime startTime, LocalTime endTime) {
+        if (startTime == null || endTime == null) return this;
+        return plus(TimeSlot.Day.maskOrZero(days), minutes(startTime), minutes(endTime));
+    }
+
+    private MeetingPattern plus(int days, int startMin, int endMin) {
+        if (days == 0 || endMin <= startMin) return this;
+        int n = size();
+        int[] d = Arrays.copyOf(dayMask, n + 1);
+        int[] s = Arrays.copyOf(start, n + 1);
+        int[] e = Arrays.copyOf(end, n + 1);
+        d[n] = days;
+        s[n] = startMin;
+        e[n] = endMin;
+        return new MeetingPattern(d, s, e);
+    }
+
+    public int size() {
+        return dayMask.length;
+    }
+
+    public boolean isEmpty() {
+        return dayMask.length == 0;
+    }
+
+    public int dayMask(int meeting) { return dayMask[meeting]; }
+    public int startMinute(int meeting) { return start[meeting]; }
+    public int endMinute(int meeting) { return end[meeting]; }
+
+    /** Every day any meeting is held on. */
+    public int dayMask() {
+        int mask = 0;
+        for (int d : dayMask) mask |= d;
+        return mask;
+    }
+
+    /** Earliest start over all meetings, or -1 when there are none. */
+    public int earliestStart() {
+        int min = -1;
+        for (int s : start) if (min < 0 || s < min) min = s;
+        return min;
+    }
+
+    /** True when some meeting of each pattern share a day and overlap in time (touching ends do not count). */
+    public boolean overlaps(MeetingPattern other) {
+        for (int i = 0; i < dayMask.length; i++) {
+            for (int j = 0; j < other.dayMask.length; j++) {
+                if ((dayMask[i] & other.dayMask[j]) != 0 && start[i] < other.end[j] && other.start[j] < end[i]) return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Meeting> meetings() {
+        List<Meeting> out = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) out.add(new Meeting(dayMask[i], start[i], end[i]));
+        return out;
+    }
+
+    public static int minutes(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MeetingPattern p)) return false;
+        return Arrays.equals(dayMask, p.dayMask) && Arrays.equals(start, p.start) && Arrays.equals(end, p.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(dayMask) + Arrays.hashCode(start)) + Arrays.hashCode(end);
+    }
+
+    @Override
+    public String toString() {
+        return meetings().toString();
+    }
+}
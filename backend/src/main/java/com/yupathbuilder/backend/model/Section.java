@@ -7,6 +7,9 @@ import java.time.LocalTime;
  * Domain model: Section.
  *
  * <p>Simple immutable data structures used throughout the backend.
+ *
+ * <p>{@code days}/{@code startTime}/{@code endTime} describe the primary meeting. Further meetings of a
+ * catalog section (e.g. a lab on its own CSV row) are kept by the catalog's section store, not here.
  */
 
 public record Section(
@@ -14,13 +17,21 @@ public record Section(
         String courseCode,
         String term,
         String instructor,
-        String days,        // e.g. "Mon,Wed"
+        String days,        // e.g. "MW" or "Mon,Wed"
         LocalTime startTime,
         LocalTime endTime,
         String location,
         int capacity
 ) {
+    /**
+     * The primary meeting compiled into a {@link MeetingPattern}, compiled on each call. Days that are not a
+     * day list give no meeting (see {@link MeetingPattern}).
+     */
+    public MeetingPattern meetings() {
+        return MeetingPattern.of(days, startTime, endTime);
+    }
+
     public String normalizedCourseCode() {
-        return courseCode == null ? "" : courseCode.replaceAll("\\s+", "").toUpperCase();
+        return Course.normalizeCode(courseCode);
     }
 }
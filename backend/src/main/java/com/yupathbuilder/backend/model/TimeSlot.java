@@ -10,7 +10,64 @@ import java.util.Objects;
  */
 
 public final class TimeSlot {
-    public enum Day { MON, TUE, WED, THU, FRI, SAT, SUN }
+    public enum Day {
+        MON, TUE, WED, THU, FRI, SAT, SUN;
+
+        // Compact single-letter codes in ordinal order (York convention: 'R' is Thursday, 'U' is Sunday).
+        private static final String CODES = "MTWRFSU";
+
+        /**
+         * Parses a day list into a bitmask (bit {@code ordinal()} set per day).
+         * Accepts compact strings ("MW", "TR", days in week order) as well as names ("Mon,Wed", "TUESDAY").
+         *
+         * @throws IllegalArgumentException for any other token (e.g. "WEDS", or "FR", which is not in week order)
+         */
+        public static int mask(String days) {
+            int mask = parse(days);
+            if (mask < 0) throw new IllegalArgumentException("Unknown days: " + days);
+            return mask;
+        }
+
+        /** Same as {@link #mask}, but 0 (no day) for a day list it would reject; for data that must not fail. */
+        public static int maskOrZero(String days) {
+            return Math.max(parse(days), 0);
+        }
+
+        // -1 when some token is not a day list
+        private static int parse(String days) {
+            if (days == null) return 0;
+            int mask = 0;
+            for (String token : days.trim().toUpperCase().split("[\\s,/;]+")) {
+                if (token.isEmpty()) continue;
+                Day named = byName(token);
+                if (named != null) {
+                    mask |= 1 << named.ordinal();
+                    continue;
+                }
+                int last = -1;
+                for (int i = 0; i < token.length(); i++) {
+                    int d = CODES.indexOf(token.charAt(i));
+                    if (d <= last) return -1;
+                    last = d;
+                    mask |= 1 << d;
+                }
+            }
+            return mask;
+        }
+
+        private static Day byName(String x) {
+            return switch (x) {
+                case "MON", "MONDAY" -> MON;
+                case "TUE", "TUES", "TUESDAY" -> TUE;
+                case "WED", "WEDNESDAY" -> WED;
+                case "THU", "THUR", "THURS", "THURSDAY" -> THU;
+                case "FRI", "FRIDAY" -> FRI;
+                case "SAT", "SATURDAY" -> SAT;
+                case "SUN", "SUNDAY" -> SUN;
+                default -> null;
+            };
+        }
+    }
 
     private final Day day;
     private final int startMin;
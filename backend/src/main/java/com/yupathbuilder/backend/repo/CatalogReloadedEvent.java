@@ -0,0 +1,11 @@
+package com.yupathbuilder.backend.repo;
+
+
+/**
+ * Repository abstraction / implementation: CatalogReloadedEvent.
+ *
+ * <p>Published after a new course and section catalog replaced the previous one, so caches derived
+ * from it can be dropped. {@code version} increases with every reload.
+ */
+
+public record CatalogReloadedEvent(long version) {}
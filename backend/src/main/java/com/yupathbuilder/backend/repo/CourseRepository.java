@@ -1,5 +1,7 @@
 package com.yupathbuilder.backend.repo;
 
+import com.yupathbuilder.backend.index.CourseFacetIndex;
+import com.yupathbuilder.backend.index.CourseTextIndex;
 import com.yupathbuilder.backend.model.Course;
 import java.util.List;
 import java.util.Optional;
@@ -14,4 +16,30 @@ import java.util.Optional;
 public interface CourseRepository {
     List<Course> findAll();
     Optional<Course> findByNormalizedCode(String normalizedCode);
+
+    /**
+     * Text index over the current catalog, if this repository maintains one (rebuilt with it).
+     * Callers must fall back to scanning {@link #findAll()} when it is absent.
+     */
+    default Optional<CourseTextIndex> textIndex() {
+        return Optional.empty();
+    }
+
+    /**
+     * Facet index over the current catalog's courses and their sections, if this repository maintains
+     * one (rebuilt with it). Its queries take text matches from this same repository (or snapshot).
+     */
+    default Optional<CourseFacetIndex> facetIndex() {
+        return Optional.empty();
+    }
+
+    /**
+     * A view answering every call from the catalog version that is current now, if this repository
+     * swaps versions on reload. Operations that combine several calls (a text index plus the course list, ...) should read
+     * through one, so a reload in between cannot mix versions. Empty means the data never changes
+     * under its callers, so the repository itself can be used.
+     */
+    default Optional<CourseRepository> snapshot() {
+        return Optional.empty();
+    }
 }
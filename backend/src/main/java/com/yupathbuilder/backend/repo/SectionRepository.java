@@ -1,7 +1,11 @@
 package com.yupathbuilder.backend.repo;
 
+import com.yupathbuilder.backend.index.CourseSectionIndex;
+import com.yupathbuilder.backend.index.SectionConflictMatrix;
+import com.yupathbuilder.backend.index.SectionTimeIndex;
 import com.yupathbuilder.backend.model.Section;
 import java.util.List;
+import java.util.Optional;
 
 
 /**
@@ -13,4 +17,43 @@ import java.util.List;
 public interface SectionRepository {
     List<Section> findAll();
     List<Section> findByNormalizedCourseCodeAndTerm(String normalizedCourseCode, String term);
+
+    /** Every section offered in the term (trimmed, case-insensitive match). */
+    default List<Section> findByTerm(String term) {
+        String t = term == null ? "" : term.trim();
+        return findAll().stream().filter(s -> t.equalsIgnoreCase(s.term() == null ? "" : s.term().trim())).toList();
+    }
+
+    /**
+     * Precomputed pairwise conflicts for a term's sections, if this repository maintains one.
+     * Callers must fall back to comparing times when it is absent. The matrix covers every section
+     * of the term, so schedule searches take their candidates from it
+     * ({@link SectionConflictMatrix#courseOrdinals}) instead of looking them up.
+     */
+    default Optional<SectionConflictMatrix> conflictMatrix(String term) {
+        return Optional.empty();
+    }
+
+    /**
+     * Sections by course and term, with each course's sections also kept in search order, if this repository
+     * maintains such an index. Callers fall back to {@link #findByNormalizedCourseCodeAndTerm} and sort.
+     */
+    default Optional<CourseSectionIndex> courseIndex() {
+        return Optional.empty();
+    }
+
+    /** Per-day meeting time index for a term's sections, if this repository maintains one. */
+    default Optional<SectionTimeIndex> timeIndex(String term) {
+        return Optional.empty();
+    }
+
+    /**
+     * A view answering every call from the catalog version that is current now, if this repository
+     * swaps versions on reload. Operations that combine several calls (candidate lookups plus the term's conflict matrix, ...) should read
+     * through one, so a reload in between cannot mix versions. Empty means the data never changes
+     * under its callers, so the repository itself can be used.
+     */
+    default Optional<SectionRepository> snapshot() {
+        return Optional.empty();
+    }
 }
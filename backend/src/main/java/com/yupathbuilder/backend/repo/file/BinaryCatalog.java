@@ -0,0 +1,279 @@
+package com.yupathbuilder.backend.repo.file;
+
+import com.yupathbuilder.backend.index.SectionConflictMatrix;
+import com.yupathbuilder.backend.model.Course;
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+
+/**
+ * Repository abstraction / implementation: BinaryCatalog.
+ *
+ * <p>Handles data access (file-backed CSV, in-memory storage, etc.).
+ *
+ * <p>Compact binary copy of a parsed catalog, written next to the CSV files after a successful load and
+ * memory-mapped on the next start instead of parsing them again. Layout (big-endian):
+ * <pre>
+ *   header     magic "YPBC", format version, then size and mtime of courses.csv and sections.csv
+ *   strings    count, then (UTF-8 length, bytes) per distinct string; rows refer to them by index (-1 = null)
+ *   courses    count, then per course in normalized-code order: code, normalized code, title, department,
+ *              prerequisites (string ids) and credits (double)
+ *   sections   count, then per section: id, course code, term, instructor, days, location (string ids),
+ *              start and end (nano of day, -1 = none), capacity, first meeting and meeting count
+ *   meetings   count, then per meeting: day mask, start minute, end minute (ints)
+ *   conflicts  count, then per term: term key (string id), then the {@link SectionConflictMatrix} offsets
+ *              and list, each as (length, ints)
+ * </pre>
+ * Every row is fixed-width, and each distinct string (a term, a department, a room) is decoded once.
+ * The header stamps tie the file to the CSVs it was built from; a snapshot whose stamps no longer match is
+ * ignored, so editing either CSV always wins.
+ *
+ * <p>The conflict lists are by far the slowest part of a load to derive, so they are restored as saved;
+ * the other indexes are rebuilt from the rows, in well under a second even for tens of thousands of sections.
+ */
+
+final class BinaryCatalog {
+
+    static final String FILE = "catalog.bin";
+    private static final int MAGIC = 0x59504243; // "YPBC"
+    private static final int FORMAT = 2;
+    private static final int SECTION_ROW = 9 * Integer.BYTES + 2 * Long.BYTES;
+
+    private BinaryCatalog() {}
+
+    /** Size and modification time of both CSV files. */
+    record Stamp(long coursesSize, long coursesModified, long sectionsSize, long sectionsModified) {
+        static Stamp of(Path dir) throws IOException {
+            Path courses = dir.resolve(FileCatalog.COURSES), sections = dir.resolve(FileCatalog.SECTIONS);
+            return new Stamp(Files.size(courses), Files.getLastModifiedTime(courses).toMillis(),
+                    Files.size(sections), Files.getLastModifiedTime(sections).toMillis());
+        }
+    }
+
+    /**
+     * Writes both halves of a snapshot to {@code file}, via a temporary file and an atomic rename so a
+     * reader never maps a partial file.
+     */
+    static void write(Path file, Stamp stamp, FileCourseRepository.Data courses, FileSectionRepository.Data sections)
+            throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        List<Course> courseRows = courses.all();
+        List<Section> sectionRows = sections.all();
+        List<MeetingPattern> sectionMeetings = sections.meetings();
+        for (Course c : courseRows) {
+            for (String s : new String[]{c.courseCode(), c.normalizedCode(), c.title(), c.department(), c.prerequisites()}) {
+                intern(s, ids, strings);
+            }
+        }
+        for (Section s : sectionRows) {
+            for (String v : new String[]{s.sectionId(), s.courseCode(), s.term(), s.instructor(), s.days(), s.location()}) {
+                intern(v, ids, strings);
+            }
+        }
+        Map<String, SectionConflictMatrix> matrices = sections.conflictsByTerm();
+        for (String term : matrices.keySet()) intern(term, ids, strings);
+
+        Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), FILE, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeLong(stamp.coursesSize());
+                out.writeLong(stamp.coursesModified());
+                out.writeLong(stamp.sectionsSize());
+                out.writeLong(stamp.sectionsModified());
+
+                out.writeInt(strings.size());
+                for (String s : strings) {
+                    byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(utf8.length);
+                    out.write(utf8);
+                }
+
+                out.writeInt(courseRows.size());
+                for (Course c : courseRows) {
+                    out.writeInt(id(c.courseCode(), ids));
+                    out.writeInt(id(c.normalizedCode(), ids));
+                    out.writeInt(id(c.title(), ids));
+                    out.writeInt(id(c.department(), ids));
+                    out.writeInt(id(c.prerequisites(), ids));
+                    out.writeDouble(c.credits());
+                }
+
+                out.writeInt(sectionRows.size());
+                int meetings = 0;
+                for (int i = 0; i < sectionRows.size(); i++) {
+                    Section s = sectionRows.get(i);
+                    MeetingPattern p = sectionMeetings.get(i);
+                    out.writeInt(id(s.sectionId(), ids));
+                    out.writeInt(id(s.courseCode(), ids));
+                    out.writeInt(id(s.term(), ids));
+                    out.writeInt(id(s.instructor(), ids));
+                    out.writeInt(id(s.days(), ids));
+                    out.writeInt(id(s.location(), ids));
+                    out.writeLong(s.startTime() == null ? -1 : s.startTime().toNanoOfDay());
+                    out.writeLong(s.endTime() == null ? -1 : s.endTime().toNanoOfDay());
+                    out.writeInt(s.capacity());
+                    out.writeInt(meetings);
+                    out.writeInt(p.size());
+                    meetings += p.size();
+                }
+
+                out.writeInt(meetings);
+                for (MeetingPattern p : sectionMeetings) {
+                    for (int m = 0; m < p.size(); m++) {
+                        out.writeInt(p.dayMask(m));
+                        out.writeInt(p.startMinute(m));
+                        out.writeInt(p.endMinute(m));
+                    }
+                }
+
+                out.writeInt(matrices.size());
+                for (Map.Entry<String, SectionConflictMatrix> e : matrices.entrySet()) {
+                    out.writeInt(id(e.getKey(), ids));
+                    writeInts(out, e.getValue().conflictOffsets());
+                    writeInts(out, e.getValue().conflictList());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Maps {@code file} and rebuilds the snapshot halves from it. Empty when the file is missing, was
+     * written by another format version, or was built from CSVs other than those stamped {@code current}.
+     *
+     * @throws IOException if the file cannot be read or is truncated
+     */
+    static Optional<FileCatalog.Snapshot> read(Path file, Stamp current, long version) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        try {
+            if (buf.getInt() != MAGIC || buf.getInt() != FORMAT) return Optional.empty();
+            Stamp stamp = new Stamp(buf.getLong(), buf.getLong(), buf.getLong(), buf.getLong());
+            if (!stamp.equals(current)) return Optional.empty();
+
+            String[] strings = new String[buf.getInt()];
+            byte[] utf8 = new byte[256];
+            for (int i = 0; i < strings.length; i++) {
+                int len = buf.getInt();
+                if (len > utf8.length) utf8 = new byte[Math.max(len, utf8.length * 2)];
+                buf.get(utf8, 0, len);
+                strings[i] = new String(utf8, 0, len, StandardCharsets.UTF_8);
+            }
+
+            int courseCount = buf.getInt();
+            List<Course> courses = new ArrayList<>(courseCount);
+            List<String> codes = new ArrayList<>(courseCount);
+            for (int i = 0; i < courseCount; i++) {
+                String code = str(strings, buf.getInt());
+                codes.add(str(strings, buf.getInt()));
+                String title = str(strings, buf.getInt());
+                String department = str(strings, buf.getInt());
+                String prerequisites = str(strings, buf.getInt());
+                courses.add(new Course(code, title, buf.getDouble(), department, prerequisites));
+            }
+
+            CatalogDictionary dict = new CatalogDictionary(); // strings are already unique; this shares times and patterns
+            int sectionCount = buf.getInt();
+            ByteBuffer rows = buf.slice(buf.position(), sectionCount * SECTION_ROW);
+            buf.position(buf.position() + sectionCount * SECTION_ROW);
+            int meetingCount = buf.getInt();
+            int[] meetings = new int[meetingCount * 3];
+            buf.asIntBuffer().get(meetings);
+            buf.position(buf.position() + meetings.length * Integer.BYTES);
+
+            Map<String, int[][]> saved = new HashMap<>();
+            for (int t = buf.getInt(); t > 0; t--) {
+                String term = str(strings, buf.getInt());
+                saved.put(term, new int[][]{readInts(buf), readInts(buf)});
+            }
+
+            List<Section> sections = new ArrayList<>(sectionCount);
+            List<MeetingPattern> patterns = new ArrayList<>(sectionCount);
+            for (int i = 0; i < sectionCount; i++) {
+                String id = str(strings, rows.getInt()), course = str(strings, rows.getInt());
+                String term = str(strings, rows.getInt()), instructor = str(strings, rows.getInt());
+                String days = str(strings, rows.getInt()), location = str(strings, rows.getInt());
+                LocalTime start = dict.intern(time(rows.getLong())), end = dict.intern(time(rows.getLong()));
+                int capacity = rows.getInt(), first = rows.getInt(), n = rows.getInt();
+                List<MeetingPattern.Meeting> pattern = new ArrayList<>(n);
+                for (int m = first; m < first + n; m++) {
+                    pattern.add(new MeetingPattern.Meeting(meetings[3 * m], meetings[3 * m + 1], meetings[3 * m + 2]));
+                }
+                sections.add(new Section(id, course, term, instructor, days, start, end, location, capacity));
+                patterns.add(dict.intern(MeetingPattern.of(pattern)));
+            }
+            return Optional.of(FileCatalog.Snapshot.of(version, FileCourseRepository.of(courses, codes),
+                    FileSectionRepository.of(sections, patterns, (term, columns) -> {
+                        int[][] lists = saved.get(term);
+                        return lists == null ? SectionConflictMatrix.build(columns)
+                                : SectionConflictMatrix.of(columns, lists[0], lists[1]);
+                    })));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated catalog snapshot " + file, e);
+        }
+    }
+
+    /** Writes (length, ints) in 64 KB chunks rather than one int at a time. */
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        ByteBuffer chunk = ByteBuffer.allocate(1 << 16);
+        for (int i = 0; i < values.length; ) {
+            int n = Math.min(values.length - i, chunk.capacity() / Integer.BYTES);
+            chunk.clear();
+            chunk.asIntBuffer().put(values, i, n);
+            out.write(chunk.array(), 0, n * Integer.BYTES);
+            i += n;
+        }
+    }
+
+    private static int[] readInts(ByteBuffer buf) {
+        int[] values = new int[buf.getInt()];
+        buf.asIntBuffer().get(values);
+        buf.position(buf.position() + values.length * Integer.BYTES);
+        return values;
+    }
+
+    private static void intern(String s, Map<String, Integer> ids, List<String> strings) {
+        if (s != null && ids.putIfAbsent(s, strings.size()) == null) strings.add(s);
+    }
+
+    private static int id(String s, Map<String, Integer> ids) {
+        return s == null ? -1 : ids.get(s);
+    }
+
+    private static String str(String[] strings, int id) {
+        return id < 0 ? null : strings[id];
+    }
+
+    private static LocalTime time(long nanoOfDay) {
+        return nanoOfDay < 0 ? null : LocalTime.ofNanoOfDay(nanoOfDay);
+    }
+}
@@ -0,0 +1,39 @@
+package com.yupathbuilder.backend.repo.file;
+
+import com.yupathbuilder.backend.model.Course;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Repository abstraction / implementation: CatalogDictionary.
+ *
+ * <p>Handles data access (file-backed CSV, in-memory storage, etc.).
+ *
+ * <p>Value dictionary for one catalog load. Terms, instructors, day strings, rooms, course codes, times and
+ * meeting patterns repeat across thousands of rows; passing each parsed value through {@link #intern} makes
+ * all equal values share one instance, so the snapshot holds each distinct value once. Normalized course
+ * codes are computed once per distinct code. The dictionary itself is dropped after the load; it is safe
+ * to use from the parallel CSV row mappers.
+ */
+
+final class CatalogDictionary {
+
+    private final Map<Object, Object> values = new ConcurrentHashMap<>();
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+
+    /** The dictionary's instance equal to {@code value} (an immutable value: String, LocalTime, ...). */
+    @SuppressWarnings("unchecked")
+    <T> T intern(T value) {
+        if (value == null) return null;
+        Object prev = values.putIfAbsent(value, value);
+        return prev == null ? value : (T) prev;
+    }
+
+    /** {@link Course#normalizeCode} of {@code code}, interned. */
+    String normalizedCode(String code) {
+        if (code == null) return "";
+        return normalized.computeIfAbsent(code, c -> intern(Course.normalizeCode(c)));
+    }
+}
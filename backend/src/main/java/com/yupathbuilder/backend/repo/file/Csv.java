@@ -1,44 +0,0 @@
-package com.yupathbuilder.backend.repo.file;
-
-import java.util.ArrayList;
-import java.util.List;
-
-
-/**
- * Repository abstraction / implementation: Csv.
- *
- * <p>Handles data access (file-backed CSV, in-memory storage, etc.).
- */
-
-final class Csv {
-    private Csv() {}
-
-    // Minimal CSV line parser supporting quotes and commas inside quotes.
-    static List<String> parseLine(String line) {
-        List<String> out = new ArrayList<>();
-        if (line == null) return out;
-
-        StringBuilder cur = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (c == '"') {
-                // double quote inside quoted text -> literal quote
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    cur.append('"');
-                    i++;
-                } else {
-                    inQuotes = !inQuotes;
-                }
-            } else if (c == ',' && !inQuotes) {
-                out.add(cur.toString().trim());
-                cur.setLength(0);
-            } else {
-                cur.append(c);
-            }
-        }
-        out.add(cur.toString().trim());
-        return out;
-    }
-}
@@ -0,0 +1,200 @@
+package com.yupathbuilder.backend.repo.file;
+
+import com.yupathbuilder.backend.index.CourseFacetIndex;
+import com.yupathbuilder.backend.repo.CatalogReloadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Repository abstraction / implementation: FileCatalog.
+ *
+ * <p>Handles data access (file-backed CSV, in-memory storage, etc.).
+ *
+ * <p>Owns the course and section data behind {@link FileCourseRepository} and {@link FileSectionRepository}
+ * as one versioned snapshot. A reload parses and indexes both files off to the side and then publishes the
+ * new snapshot with a single reference swap, so a reader that holds a snapshot keeps a consistent pair and
+ * never sees new courses next to old sections.
+ *
+ * <p>The files come from {@code app.catalog.dir} ({@code courses.csv}, {@code sections.csv}) or, when it is
+ * unset, from the classpath. An external directory is watched: once changes to either file have been quiet
+ * for {@value #QUIET_MILLIS} ms, a background thread reloads. A reload that fails (e.g. a half-written file)
+ * keeps the current snapshot; the next change retries. Replacing files by atomic rename avoids that case.
+ *
+ * <p>After parsing an external directory, the result is also saved there as {@value BinaryCatalog#FILE}
+ * ({@link BinaryCatalog}); later loads map that file instead of parsing while both CSVs are unchanged.
+ */
+
+@Component
+public class FileCatalog implements DisposableBean {
+
+    static final String COURSES = "courses.csv";
+    static final String SECTIONS = "sections.csv";
+    static final long QUIET_MILLIS = 250;
+
+    private static final Logger log = LoggerFactory.getLogger(FileCatalog.class);
+
+    /** Everything served from one load of the catalog, including the facet index over both halves. */
+    record Snapshot(long version, FileCourseRepository.Data courses, FileSectionRepository.Data sections,
+                    CourseFacetIndex facets) {
+        static Snapshot of(long version, FileCourseRepository.Data courses, FileSectionRepository.Data sections) {
+            return new Snapshot(version, courses, sections, CourseFacetIndex.build(courses.all(), sections.columns()));
+        }
+    }
+
+    private final Path dir; // null -> classpath
+    private final ApplicationEventPublisher events;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final WatchService watchService;
+
+    @Autowired
+    public FileCatalog(@Value("${app.catalog.dir:}") String dir, ApplicationEventPublisher events) {
+        this.dir = dir == null || dir.isBlank() ? null : Path.of(dir.trim());
+        this.events = events;
+        current.set(load(1)); // fail fast at startup; no event, nothing has read the catalog yet
+        this.watchService = this.dir == null ? null : watch(this.dir);
+    }
+
+    /** Classpath catalog without reload events (tools and tests). */
+    public FileCatalog() {
+        this("", event -> {});
+    }
+
+    Snapshot current() {
+        return current.get();
+    }
+
+    /** Version of the published snapshot: 1 after startup, +1 per reload. */
+    public long version() {
+        return current.get().version();
+    }
+
+    /**
+     * Loads both files and publishes them as the next version, then sends a {@link CatalogReloadedEvent}.
+     *
+     * @return the new version
+     * @throws IllegalStateException if either file cannot be read; the current snapshot stays published
+     */
+    public synchronized long reload() {
+        Snapshot next = load(current.get().version() + 1);
+        current.set(next);
+        events.publishEvent(new CatalogReloadedEvent(next.version()));
+        return next.version();
+    }
+
+    private Snapshot load(long version) {
+        try {
+            if (dir == null) return parse(version);
+            BinaryCatalog.Stamp stamp = BinaryCatalog.Stamp.of(dir);
+            Optional<Snapshot> mapped = readSnapshot(stamp, version);
+            if (mapped.isPresent()) return mapped.get();
+
+            Snapshot parsed = parse(version);
+            writeSnapshot(stamp, parsed);
+            return parsed;
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Failed to load catalog from " + (dir == null ? "classpath" : dir), e);
+        }
+    }
+
+    /** Both files share one dictionary, so a course code spelled the same way in each is stored once. */
+    private Snapshot parse(long version) throws IOException {
+        CatalogDictionary dict = new CatalogDictionary();
+        return Snapshot.of(version, FileCourseRepository.parse(source(COURSES), dict),
+                FileSectionRepository.parse(source(SECTIONS), dict));
+    }
+
+    /** The binary snapshot is only a cache of the CSVs: any problem with it falls back to parsing them. */
+    private Optional<Snapshot> readSnapshot(BinaryCatalog.Stamp stamp, long version) {
+        try {
+            return BinaryCatalog.read(dir.resolve(BinaryCatalog.FILE), stamp, version);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable catalog snapshot in {}", dir, e);
+            return Optional.empty();
+        }
+    }
+
+    private void writeSnapshot(BinaryCatalog.Stamp stamp, Snapshot snapshot) {
+        try {
+            // the CSVs may have changed while they were parsed; a stale stamp would just be ignored next time
+            if (stamp.equals(BinaryCatalog.Stamp.of(dir))) {
+                BinaryCatalog.write(dir.resolve(BinaryCatalog.FILE), stamp, snapshot.courses(), snapshot.sections());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write catalog snapshot to {}", dir, e);
+        }
+    }
+
+    /** External files are memory-mapped; bundled resources may sit inside the jar, so they are read into memory. */
+    private MappedCsv.Source source(String name) throws IOException {
+        if (dir != null) return MappedCsv.Source.of(dir.resolve(name));
+        try (InputStream in = new ClassPathResource("data/" + name).getInputStream()) {
+            return MappedCsv.Source.of(in.readAllBytes());
+        }
+    }
+
+    private WatchService watch(Path dir) {
+        try {
+            WatchService ws = dir.getFileSystem().newWatchService();
+            dir.register(ws, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            Thread t = new Thread(() -> watchLoop(ws), "catalog-watcher");
+            t.setDaemon(true);
+            t.start();
+            return ws;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot watch catalog directory " + dir, e);
+        }
+    }
+
+    private void watchLoop(WatchService ws) {
+        try {
+            while (true) {
+                boolean changed = drain(ws.take());
+                // let a burst of writes settle before parsing
+                for (WatchKey more; (more = ws.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null; ) changed |= drain(more);
+                if (!changed) continue;
+                try {
+                    reload();
+                } catch (IllegalStateException e) {
+                    log.warn("Catalog reload failed; still serving version {}", version(), e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+
+    private static boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            relevant |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || Set.of(COURSES, SECTIONS).contains(String.valueOf(event.context()));
+        }
+        key.reset();
+        return relevant;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (watchService != null) watchService.close();
+    }
+}
@@ -1,15 +1,14 @@
 package com.yupathbuilder.backend.repo.file;
 
+import com.yupathbuilder.backend.index.CourseFacetIndex;
+import com.yupathbuilder.backend.index.CourseTextIndex;
 import com.yupathbuilder.backend.model.Course;
 import com.yupathbuilder.backend.repo.CourseRepository;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
@@ -21,61 +20,98 @@ import java.util.concurrent.atomic.AtomicReference;
 @Repository
 public class FileCourseRepository implements CourseRepository {
 
-    private final AtomicReference<Map<String, Course>> byCode = new AtomicReference<>(Map.of());
-    private final AtomicReference<List<Course>> all = new AtomicReference<>(List.of());
+    private final FileCatalog catalog;
+    private final FileCatalog.Snapshot pinned; // null -> always the current snapshot
 
-    public FileCourseRepository() {
-        reload();
+    @Autowired
+    public FileCourseRepository(FileCatalog catalog) {
+        this(catalog, null);
     }
 
-    public synchronized void reload() {
-        List<Course> courses = new ArrayList<>();
-        Map<String, Course> map = new HashMap<>();
+    private FileCourseRepository(FileCatalog catalog, FileCatalog.Snapshot pinned) {
+        this.catalog = catalog;
+        this.pinned = pinned;
+    }
 
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(
-                new ClassPathResource("data/courses.csv").getInputStream(), StandardCharsets.UTF_8))) {
-
-            //String header = br.readLine(); // skip
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.isBlank()) continue;
-                List<String> cols = Csv.parseLine(line);
-
-                // Expected: CourseCode,Title,Credits,Department,Prerequisites
-                String code = get(cols, 0);
-                String title = get(cols, 1);
-                double credits = parseDouble(get(cols, 2));
-                String dept = get(cols, 3);
-                String prereq = get(cols, 4);
-
-                Course c = new Course(code, title, credits, dept, prereq);
-                courses.add(c);
-                map.put(c.normalizedCode(), c);
-            }
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to load courses.csv from classpath", e);
+    /** The catalog this repository reads; reloading it swaps courses and sections together. */
+    public FileCatalog catalog() {
+        return catalog;
+    }
+
+    /**
+     * Parses courses.csv into the course half of a {@link FileCatalog} snapshot. A header row
+     * ({@code courseCode,...}) is skipped when present. Repeated values go through {@code dict}.
+     */
+    static Data parse(MappedCsv.Source csv, CatalogDictionary dict) throws IOException {
+        // Expected: CourseCode,Title,Credits,Department,Prerequisites
+        List<Course> courses = csv.rows(false, row -> row.get(0).equalsIgnoreCase("courseCode") ? null
+                : new Course(dict.intern(row.get(0)), row.get(1), parseDouble(row.get(2)), dict.intern(row.get(3)),
+                        dict.intern(row.get(4))));
+        String[] codes = new String[courses.size()];
+        for (int i = 0; i < codes.length; i++) codes[i] = dict.normalizedCode(courses.get(i).courseCode());
+        Integer[] order = new Integer[codes.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing(i -> codes[i]));
+
+        List<Course> sorted = new ArrayList<>(order.length);
+        List<String> sortedCodes = new ArrayList<>(order.length);
+        for (int i : order) {
+            sorted.add(courses.get(i));
+            sortedCodes.add(codes[i]);
         }
+        return of(sorted, sortedCodes);
+    }
 
-        courses.sort(Comparator.comparing(Course::normalizedCode));
-        byCode.set(Collections.unmodifiableMap(map));
-        all.set(Collections.unmodifiableList(courses));
+    /**
+     * Indexes courses already in normalized-code order; {@code codes} holds their normalized codes (e.g. as
+     * stored in a {@link BinaryCatalog} snapshot), so nothing is re-normalized.
+     */
+    static Data of(List<Course> sorted, List<String> codes) {
+        Map<String, Course> map = new HashMap<>();
+        for (int i = 0; i < sorted.size(); i++) map.put(codes.get(i), sorted.get(i));
+        return new Data(Collections.unmodifiableList(sorted), Collections.unmodifiableMap(map),
+                CourseTextIndex.build(sorted));
     }
 
     @Override
     public List<Course> findAll() {
-        return all.get();
+        return data().all();
+    }
+
+    @Override
+    public Optional<CourseTextIndex> textIndex() {
+        return Optional.of(data().text());
+    }
+
+    /** Built with the snapshot, over the courses and sections published together. */
+    @Override
+    public Optional<CourseFacetIndex> facetIndex() {
+        return Optional.of(published().facets());
     }
 
     @Override
     public Optional<Course> findByNormalizedCode(String normalizedCode) {
         if (normalizedCode == null) return Optional.empty();
-        return Optional.ofNullable(byCode.get().get(normalizedCode.replaceAll("\\s+", "").toUpperCase()));
+        return Optional.ofNullable(data().byCode().get(normalizedCode.replaceAll("\\s+", "").toUpperCase()));
     }
 
-    private static String get(List<String> cols, int idx) {
-        return idx < cols.size() ? cols.get(idx) : "";
+    /** Pinned to the snapshot published now; reloads after this call do not change what it serves. */
+    @Override
+    public Optional<CourseRepository> snapshot() {
+        return Optional.of(new FileCourseRepository(catalog, published()));
     }
 
+    private FileCatalog.Snapshot published() {
+        return pinned != null ? pinned : catalog.current();
+    }
+
+    private Data data() {
+        return published().courses();
+    }
+
+    /** Courses and everything derived from them, as published in one catalog snapshot. */
+    record Data(List<Course> all, Map<String, Course> byCode, CourseTextIndex text) {}
+
     private static double parseDouble(String s) {
         try { return Double.parseDouble(s); } catch (Exception e) { return 0.0; }
     }
@@ -1,16 +1,22 @@
 package com.yupathbuilder.backend.repo.file;
 
+import com.yupathbuilder.backend.index.CourseSectionIndex;
+import com.yupathbuilder.backend.index.SectionColumns;
+import com.yupathbuilder.backend.index.SectionConflictMatrix;
+import com.yupathbuilder.backend.index.SectionTimeIndex;
+import com.yupathbuilder.backend.model.MeetingPattern;
 import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.model.TimeSlot;
 import com.yupathbuilder.backend.repo.SectionRepository;
-import org.springframework.core.io.ClassPathResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.time.LocalTime;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 
 
 /**
@@ -22,71 +28,175 @@ import java.util.concurrent.atomic.AtomicReference;
 @Repository
 public class FileSectionRepository implements SectionRepository {
 
-    private final AtomicReference<List<Section>> all = new AtomicReference<>(List.of());
+    private static final Logger log = LoggerFactory.getLogger(FileSectionRepository.class);
 
-    public FileSectionRepository() {
-        reload();
+    private final FileCatalog catalog;
+    private final FileCatalog.Snapshot pinned; // null -> always the current snapshot
+
+    @Autowired
+    public FileSectionRepository(FileCatalog catalog) {
+        this(catalog, null);
+    }
+
+    private FileSectionRepository(FileCatalog catalog, FileCatalog.Snapshot pinned) {
+        this.catalog = catalog;
+        this.pinned = pinned;
     }
+
+    /** The catalog this repository reads; reloading it swaps courses and sections together. */
+    public FileCatalog catalog() {
+        return catalog;
+    }
+
     /**
-     * Loads sections from classpath: resources/data/sections.csv
-     *
-     * <p>This is called once at startup, but can also be triggered from an admin endpoint
-     * if you add one later.
+     * Parses sections.csv into the section half of a {@link FileCatalog} snapshot, building the per-term indexes.
+     * Every field but the section id goes through {@code dict}, as do times and meeting patterns.
+     * A timed row whose days are not a day list ({@link TimeSlot.Day#mask}) is kept without that meeting
+     * and logged with its data row number, so one bad row in an export does not fail the load.
      */
-    public synchronized void reload() {
+    static Data parse(MappedCsv.Source csv, CatalogDictionary dict) throws IOException {
+        // Expected (after a header row): SectionId,CourseCode,Term,Instructor,Days,StartTime,EndTime,Location,Capacity
+        List<Section> rows = csv.rows(true, row -> new Section(row.get(0), dict.intern(row.get(1)),
+                dict.intern(row.get(2)), dict.intern(row.get(3)), dict.intern(row.get(4)),
+                dict.intern(parseTime(row.get(5))), dict.intern(parseTime(row.get(6))), dict.intern(row.get(7)),
+                parseInt(row.get(8))));
+
+        // keyed by (sectionId, term): further rows of the same section are extra meetings (e.g. a lab)
+        Map<String, Integer> byKey = new HashMap<>();
         List<Section> sections = new ArrayList<>();
+        List<MeetingPattern> meetings = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Section row = rows.get(i);
+            if (row.startTime() != null && row.endTime() != null && !isDayList(row.days())) {
+                log.warn("sections.csv data row {} (section {}): unknown days '{}'; the row has no meeting",
+                        i + 1, row.sectionId(), row.days());
+            }
+            Integer first = byKey.putIfAbsent(row.sectionId() + '\u0000' + termKey(row.term()), sections.size());
+            if (first == null) {
+                sections.add(row);
+                meetings.add(dict.intern(row.meetings()));
+            } else {
+                meetings.set(first, dict.intern(meetings.get(first).plus(row.days(), row.startTime(), row.endTime())));
+            }
+        }
+        return of(sections, meetings);
+    }
 
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(
-                new ClassPathResource("data/sections.csv").getInputStream(), StandardCharsets.UTF_8))) {
-
-            // First line is the CSV header row.
-            br.readLine(); // header
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.isBlank()) continue;
-                // Csv.parseLine handles commas inside quotes.
-                List<String> cols = Csv.parseLine(line);
-
-                // Expected: SectionId,CourseCode,Term,Instructor,Days,StartTime,EndTime,Location,Capacity
-                String sectionId = get(cols, 0);
-                String courseCode = get(cols, 1);
-                String term = get(cols, 2);
-                String instructor = get(cols, 3);
-                String days = get(cols, 4);
-                LocalTime start = parseTime(get(cols, 5));
-                LocalTime end = parseTime(get(cols, 6));
-                String location = get(cols, 7);
-                int cap = parseInt(get(cols, 8));
-
-                sections.add(new Section(sectionId, courseCode, term, instructor, days, start, end, location, cap));
+    /**
+     * Stores sections as {@link SectionColumns}, with {@code meetings.get(i)} as every meeting of
+     * {@code sections.get(i)} (extra rows already merged in), grouped by term so every term is a contiguous
+     * slice, and builds the per-term indexes over those slices. The lists served are views that create
+     * {@link Section} records on access; {@link #findAll} keeps file order.
+     */
+    static Data of(List<Section> sections, List<MeetingPattern> meetings) {
+        return of(sections, meetings, (term, columns) -> SectionConflictMatrix.build(columns));
+    }
+
+    /**
+     * Same as {@link #of(List, List)}, taking each term's conflict matrix from {@code matrix} (term key and
+     * that term's slice), e.g. to restore matrices saved with a {@link BinaryCatalog} snapshot.
+     */
+    static Data of(List<Section> sections, List<MeetingPattern> meetings,
+                   BiFunction<String, SectionColumns, SectionConflictMatrix> matrix) {
+        Map<String, List<Integer>> byTerm = new LinkedHashMap<>();
+        for (int i = 0; i < sections.size(); i++) {
+            byTerm.computeIfAbsent(termKey(sections.get(i).term()), k -> new ArrayList<>()).add(i);
+        }
+        List<Section> grouped = new ArrayList<>(sections.size());
+        List<MeetingPattern> groupedMeetings = new ArrayList<>(sections.size());
+        int[] fileOrder = new int[sections.size()];
+        for (List<Integer> rows : byTerm.values()) {
+            for (int i : rows) {
+                fileOrder[i] = grouped.size();
+                grouped.add(sections.get(i));
+                groupedMeetings.add(meetings.get(i));
             }
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to load sections.csv from classpath", e);
+        }
+        SectionColumns columns = SectionColumns.of(grouped, groupedMeetings);
+
+        Map<String, List<Section>> termLists = new HashMap<>();
+        Map<String, SectionConflictMatrix> conflicts = new HashMap<>();
+        Map<String, SectionTimeIndex> times = new HashMap<>();
+        int from = 0;
+        for (Map.Entry<String, List<Integer>> e : byTerm.entrySet()) {
+            SectionColumns term = columns.slice(from, from + e.getValue().size());
+            from += term.size();
+            termLists.put(e.getKey(), term.sections());
+            conflicts.put(e.getKey(), matrix.apply(e.getKey(), term));
+            times.put(e.getKey(), SectionTimeIndex.build(term));
         }
 
-        all.set(Collections.unmodifiableList(sections));
+        return new Data(columns, columns.sections(fileOrder), List.copyOf(meetings), Map.copyOf(termLists),
+                Map.copyOf(conflicts), Map.copyOf(times), CourseSectionIndex.build(columns));
     }
 
     @Override
     public List<Section> findAll() {
-        return all.get();
+        return data().all();
+    }
+
+    @Override
+    public List<Section> findByTerm(String term) {
+        return data().byTerm().getOrDefault(termKey(term), List.of());
+    }
+
+    @Override
+    public Optional<SectionConflictMatrix> conflictMatrix(String term) {
+        if (term == null) return Optional.empty();
+        return Optional.ofNullable(data().conflictsByTerm().get(termKey(term)));
+    }
+
+    @Override
+    public Optional<SectionTimeIndex> timeIndex(String term) {
+        if (term == null) return Optional.empty();
+        return Optional.ofNullable(data().timesByTerm().get(termKey(term)));
     }
 
+    /** Served from the reload-time {@link CourseSectionIndex}; the returned list is immutable and sorted by sectionId. */
     @Override
     public List<Section> findByNormalizedCourseCodeAndTerm(String normalizedCourseCode, String term) {
-        String code = normalizedCourseCode == null ? "" : normalizedCourseCode.replaceAll("\\s+", "").toUpperCase();
-        String t = term == null ? "" : term.trim();
-        List<Section> out = new ArrayList<>();
-        for (Section s : all.get()) {
-            if (s.normalizedCourseCode().equals(code) && (t.isBlank() || t.equalsIgnoreCase(s.term()))) {
-                out.add(s);
-            }
+        return data().byCourse().find(normalizedCourseCode, term);
+    }
+
+    @Override
+    public Optional<CourseSectionIndex> courseIndex() {
+        return Optional.of(data().byCourse());
+    }
+
+    private static boolean isDayList(String days) {
+        try {
+            TimeSlot.Day.mask(days);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
         }
-        out.sort(Comparator.comparing(Section::sectionId));
-        return out;
     }
 
-    private static String get(List<String> cols, int idx) { return idx < cols.size() ? cols.get(idx) : ""; }
+    private static String termKey(String term) {
+        return CourseSectionIndex.termKey(term);
+    }
+
+    /** Pinned to the snapshot published now; reloads after this call do not change what it serves. */
+    @Override
+    public Optional<SectionRepository> snapshot() {
+        return Optional.of(new FileSectionRepository(catalog, published()));
+    }
+
+    private FileCatalog.Snapshot published() {
+        return pinned != null ? pinned : catalog.current();
+    }
+
+    private Data data() {
+        return published().sections();
+    }
+
+    /**
+     * Sections and everything derived from them, as published in one catalog snapshot. {@code all} is in
+     * file order and {@code meetings} parallel to it; {@code columns} holds the rows grouped by term.
+     */
+    record Data(SectionColumns columns, List<Section> all, List<MeetingPattern> meetings,
+                Map<String, List<Section>> byTerm, Map<String, SectionConflictMatrix> conflictsByTerm,
+                Map<String, SectionTimeIndex> timesByTerm, CourseSectionIndex byCourse) {}
 
         // CSV times are stored as ISO-8601 (HH:MM or HH:MM:SS). Invalid/missing times become null.
     private static LocalTime parseTime(String s) {
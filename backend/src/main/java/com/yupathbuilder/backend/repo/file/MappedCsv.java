@@ -0,0 +1,217 @@
+package com.yupathbuilder.backend.repo.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+
+/**
+ * Repository abstraction / implementation: MappedCsv.
+ *
+ * <p>Handles data access (file-backed CSV, in-memory storage, etc.).
+ *
+ * <p>Byte-level CSV reader for large catalog exports. A file is memory-mapped and cut into chunks that end
+ * on a line break; chunks are parsed in parallel, each straight from the mapped bytes into the row mapper,
+ * and the results are concatenated in file order. Fields follow the catalog's CSV rules: lines end at
+ * {@code \n}, {@code \r\n} or {@code \r} (quotes never span lines), {@code "} toggles quoting,
+ * {@code ""} inside quotes is a literal quote, and each field is trimmed. Blank lines are skipped and a
+ * leading UTF-8 byte order mark is dropped. Only decoded field values are allocated.
+ */
+
+final class MappedCsv {
+
+    /** Chunks are at least this big, so small files are parsed on the calling thread. */
+    static final int MIN_CHUNK = 1 << 20;
+    private static final int MAX_CHUNK = 64 << 20;
+    private static final int WINDOW = 1 << 16;
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private MappedCsv() {}
+
+    /**
+     * One parsed line, valid only during the mapper call (its storage is reused for the next line).
+     * {@link #get} returns "" past the last field, like the repositories' {@code get(cols, idx)}.
+     */
+    static final class Row {
+        private String[] fields = new String[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        String get(int i) {
+            return i < size ? fields[i] : "";
+        }
+
+        private void add(String field) {
+            if (size == fields.length) fields = Arrays.copyOf(fields, size * 2);
+            fields[size++] = field;
+        }
+    }
+
+    /** CSV bytes from a mapped file or from memory (e.g. a classpath resource). */
+    static final class Source {
+        private final Path file;
+        private final byte[] bytes;
+
+        private Source(Path file, byte[] bytes) {
+            this.file = file;
+            this.bytes = bytes;
+        }
+
+        static Source of(Path file) {
+            return new Source(file, null);
+        }
+
+        static Source of(byte[] bytes) {
+            return new Source(null, bytes);
+        }
+
+        /**
+         * Maps every non-blank line (after the first one when {@code header}) through {@code mapper}, in file
+         * order; {@code null} results are dropped. {@code mapper} may run on several threads at once.
+         */
+        <T> List<T> rows(boolean header, Function<Row, T> mapper) throws IOException {
+            if (bytes != null) {
+                return parse(ByteBuffer.wrap(bytes), true, header, mapper);
+            }
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = ch.size();
+                long[] bounds = chunks(ch, size);
+                int n = bounds.length - 1;
+                ByteBuffer[] maps = new ByteBuffer[n];
+                for (int i = 0; i < n; i++) maps[i] = ch.map(FileChannel.MapMode.READ_ONLY, bounds[i], bounds[i + 1] - bounds[i]);
+
+                if (n == 1) return parse(maps[0], true, header, mapper);
+                List<List<T>> parts = IntStream.range(0, n).parallel()
+                        .mapToObj(i -> parse(maps[i], i == 0, header, mapper))
+                        .toList();
+                List<T> out = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+                parts.forEach(out::addAll);
+                return out;
+            }
+        }
+    }
+
+    /** Chunk boundaries {0, ..., size}; every inner boundary is just past a {@code \n}. */
+    private static long[] chunks(FileChannel ch, long size) throws IOException {
+        long target = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, size / (4L * ForkJoinPool.getCommonPoolParallelism())));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        long pos = target;
+        while (pos < size) {
+            long cut = -1;
+            for (long at = pos; cut < 0 && at < size; at += probe.capacity()) {
+                probe.clear();
+                int read = ch.read(probe, at);
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        cut = at + i + 1;
+                        break;
+                    }
+                }
+            }
+            if (cut < 0 || cut >= size) break;
+            bounds.add(cut);
+            pos = cut + target;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Parses the whole of {@code buf}, which starts at a line start. The BOM and the header line are only
+     * looked for in the chunk at the start of the file. Bytes are bulk-copied through a small window, which
+     * keeps per-byte work on a plain array.
+     */
+    private static <T> List<T> parse(ByteBuffer buf, boolean fileStart, boolean header, Function<Row, T> mapper) {
+        List<T> out = new ArrayList<>();
+        Row row = new Row();
+        byte[] field = new byte[256];
+        byte[] win = new byte[WINDOW];
+        int size = buf.limit();
+        int read = Math.min(win.length, size);
+        buf.get(0, win, 0, read);
+        int lo = 0, hi = read;
+        if (fileStart && hi >= BOM.length && win[0] == BOM[0] && win[1] == BOM[1] && win[2] == BOM[2]) lo = BOM.length;
+        boolean skip = fileStart && header;
+
+        int end = lo;
+        while (lo < hi || read < size) {
+            while (end < hi && win[end] != '\n' && win[end] != '\r') end++;
+            // the line (or a \r\n pair) may continue past the window: slide it to the front and refill
+            if ((end == hi || (win[end] == '\r' && end + 1 == hi)) && read < size) {
+                int keep = hi - lo;
+                if (keep == win.length) win = Arrays.copyOf(win, win.length * 2);
+                System.arraycopy(win, lo, win, 0, keep);
+                end -= lo;
+                lo = 0;
+                int n = Math.min(win.length - keep, size - read);
+                buf.get(read, win, keep, n);
+                read += n;
+                hi = keep + n;
+                continue;
+            }
+
+            if (skip) {
+                skip = false;
+            } else if (!blank(win, lo, end)) {
+                row.size = 0;
+                int len = 0;
+                boolean inQuotes = false;
+                for (int i = lo; i < end; i++) {
+                    byte b = win[i];
+                    if (b == '"') {
+                        if (inQuotes && i + 1 < end && win[i + 1] == '"') {
+                            if (len == field.length) field = Arrays.copyOf(field, len * 2);
+                            field[len++] = '"';
+                            i++;
+                        } else {
+                            inQuotes = !inQuotes;
+                        }
+                    } else if (b == ',' && !inQuotes) {
+                        row.add(decode(field, len));
+                        len = 0;
+                    } else {
+                        if (len == field.length) field = Arrays.copyOf(field, len * 2);
+                        field[len++] = b;
+                    }
+                }
+                row.add(decode(field, len));
+                T mapped = mapper.apply(row);
+                if (mapped != null) out.add(mapped);
+            }
+            lo = end < hi && win[end] == '\r' && end + 1 < hi && win[end + 1] == '\n' ? end + 2 : end + 1;
+            end = lo;
+        }
+        return out;
+    }
+
+    /** Same as {@code String.trim()}: the trimmed characters are all ASCII, so trimming bytes is equivalent. */
+    private static String decode(byte[] field, int len) {
+        int s = 0, e = len;
+        while (s < e && (field[s] & 0xFF) <= ' ') s++;
+        while (e > s && (field[e - 1] & 0xFF) <= ' ') e--;
+        return s == e ? "" : new String(field, s, e - s, StandardCharsets.UTF_8);
+    }
+
+    /** ASCII version of {@code String.isBlank()}. */
+    private static boolean blank(byte[] line, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int b = line[i] & 0xFF;
+            if (b != ' ' && b != '\t' && b != 0x0B && b != '\f' && (b < 0x1C || b > 0x1F)) return false;
+        }
+        return true;
+    }
+}
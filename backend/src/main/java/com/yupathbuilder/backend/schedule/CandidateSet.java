@@ -0,0 +1,176 @@
+package com.yupathbuilder.backend.schedule;
+
+import com.yupathbuilder.backend.index.SectionConflictMatrix;
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.schedule.WeekOccupancy.Footprint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Service layer component: CandidateSet.
+ *
+ * <p>The candidate sections of one schedule request (one list per course, in search order) plus
+ * what the search needs to test them for overlaps. When every candidate belongs to the term's
+ * {@link SectionConflictMatrix} the search uses bit lookups on catalog ordinals; otherwise each
+ * candidate is compiled into an occupancy {@link Footprint}.
+ *
+ * <p>Searches address a candidate as (course, option) and never read its {@link Section}: a set built
+ * from catalog ordinals ({@link #of(List, int[][], SectionConflictMatrix)}) holds no sections at all,
+ * and {@link #section} / {@link #sections} create them from the matrix for the result only.
+ */
+
+final class CandidateSet {
+
+    private final List<String> codes;
+    private final List<List<Section>> sections; // null -> catalog ordinals only
+    private final SectionConflictMatrix matrix; // null -> footprints
+    private final int[][] ordinals;
+    private final Footprint[][] footprints;
+
+    private CandidateSet(List<String> codes, List<List<Section>> sections, SectionConflictMatrix matrix,
+                         int[][] ordinals, Footprint[][] footprints) {
+        this.codes = codes;
+        this.sections = sections;
+        this.matrix = matrix;
+        this.ordinals = ordinals;
+        this.footprints = footprints;
+    }
+
+    /**
+     * {@code ordinals[i]} are the ordered candidates for course {@code codes.get(i)}, as ordinals of
+     * {@code matrix}.
+     */
+    static CandidateSet of(List<String> codes, int[][] ordinals, SectionConflictMatrix matrix) {
+        return new CandidateSet(codes, null, matrix, ordinals, null);
+    }
+
+    /** {@code sections.get(i)} are the ordered candidates for course {@code codes.get(i)}. */
+    static CandidateSet of(List<String> codes, List<List<Section>> sections, SectionConflictMatrix matrix) {
+        if (matrix != null) {
+            int[][] ordinals = new int[sections.size()][];
+            boolean complete = true;
+            for (int i = 0; i < sections.size() && complete; i++) {
+                List<Section> list = sections.get(i);
+                ordinals[i] = new int[list.size()];
+                for (int j = 0; j < list.size(); j++) {
+                    int ord = matrix.ordinalOf(list.get(j));
+                    if (ord < 0) { complete = false; break; }
+                    ordinals[i][j] = ord;
+                }
+            }
+            if (complete) return new CandidateSet(codes, sections, matrix, ordinals, null);
+        }
+
+        Footprint[][] footprints = new Footprint[sections.size()][];
+        for (int i = 0; i < sections.size(); i++) {
+            List<Section> list = sections.get(i);
+            footprints[i] = new Footprint[list.size()];
+            for (int j = 0; j < list.size(); j++) footprints[i][j] = Footprint.of(list.get(j));
+        }
+        return new CandidateSet(codes, sections, null, null, footprints);
+    }
+
+    /** The same candidates restricted to {@code courses} (indices into this set), in that order. */
+    CandidateSet subset(List<Integer> courses) {
+        int n = courses.size();
+        List<String> subCodes = new ArrayList<>(n);
+        List<List<Section>> subSections = sections == null ? null : new ArrayList<>(n);
+        int[][] subOrdinals = ordinals == null ? null : new int[n][];
+        Footprint[][] subFootprints = footprints == null ? null : new Footprint[n][];
+        for (int k = 0; k < n; k++) {
+            int i = courses.get(k);
+            subCodes.add(codes.get(i));
+            if (subSections != null) subSections.add(sections.get(i));
+            if (subOrdinals != null) subOrdinals[k] = ordinals[i];
+            if (subFootprints != null) subFootprints[k] = footprints[i];
+        }
+        return new CandidateSet(subCodes, subSections, matrix, subOrdinals, subFootprints);
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    /** Index of some course without any candidate section (so no schedule exists), or -1. */
+    int emptyCourse() {
+        for (int i = 0; i < size(); i++) {
+            if (optionCount(i) == 0) return i;
+        }
+        return -1;
+    }
+
+    String code(int course) {
+        return codes.get(course);
+    }
+
+    int optionCount(int course) {
+        return sections == null ? ordinals[course].length : sections.get(course).size();
+    }
+
+    /** The candidate's section; created from the matrix when the set holds ordinals only. */
+    Section section(int course, int option) {
+        return sections == null ? matrix.section(ordinals[course][option]) : sections.get(course).get(option);
+    }
+
+    /** The sections of a complete assignment, {@code options[i]} being the option chosen for course {@code i}. */
+    List<Section> sections(int[] options) {
+        List<Section> out = new ArrayList<>(options.length);
+        for (int i = 0; i < options.length; i++) out.add(section(i, options[i]));
+        return List.copyOf(out);
+    }
+
+    /** Every meeting of a candidate: the catalog's full pattern when ordinals are in use, else its primary meeting. */
+    MeetingPattern meetings(int course, int option) {
+        if (matrix != null) return matrix.meetings(ordinals[course][option]);
+        return section(course, option).meetings();
+    }
+
+    /** True when the two candidates overlap in time. */
+    boolean conflicts(int course, int option, int otherCourse, int otherOption) {
+        if (matrix != null) return matrix.conflicts(ordinals[course][option], ordinals[otherCourse][otherOption]);
+        return footprints[course][option].intersects(footprints[otherCourse][otherOption]);
+    }
+
+    /** Fresh, empty placement state for one search; not thread-safe, one per search thread. */
+    Placement newPlacement() {
+        return matrix != null ? new MatrixPlacement() : new OccupancyPlacement();
+    }
+
+    /**
+     * Incremental overlap state of a search. {@link #unplace} must undo the most recent
+     * {@link #place} (the search is depth-first, so this always holds).
+     */
+    interface Placement {
+        boolean fits(int course, int option);
+        void place(int course, int option);
+        void unplace(int course, int option);
+    }
+
+    private final class OccupancyPlacement implements Placement {
+        private final WeekOccupancy occupied = new WeekOccupancy();
+
+        @Override public boolean fits(int course, int option) { return occupied.fits(footprints[course][option]); }
+        @Override public void place(int course, int option) { occupied.place(footprints[course][option]); }
+        @Override public void unplace(int course, int option) { occupied.unplace(footprints[course][option]); }
+    }
+
+    private final class MatrixPlacement implements Placement {
+        private final int[] placed = new int[size()];
+        private int depth;
+
+        @Override
+        public boolean fits(int course, int option) {
+            int ord = ordinals[course][option];
+            for (int i = 0; i < depth; i++) {
+                if (matrix.conflicts(placed[i], ord)) return false;
+            }
+            return true;
+        }
+
+        @Override public void place(int course, int option) { placed[depth++] = ordinals[course][option]; }
+        @Override public void unplace(int course, int option) { depth--; }
+    }
+}
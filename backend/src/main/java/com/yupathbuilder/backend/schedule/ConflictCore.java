@@ -0,0 +1,72 @@
+package com.yupathbuilder.backend.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Service layer component: ConflictCore.
+ *
+ * <p>Explains an unsatisfiable request with a minimal conflicting subset of its courses: the courses
+ * in the core cannot all be scheduled together, but dropping any one of them makes the rest fit.
+ * Uses QuickXplain (Junker, 2004), which needs O(k log(n/k)) satisfiability checks for a core of
+ * k out of n courses; each check is a {@link ConstraintSolver} run on the subset, all sharing one
+ * {@link ConstraintSolver.Masks} built for the whole request.
+ *
+ * <p>All checks share one {@link SearchBudget.Meter}; once it is spent the explanation is abandoned
+ * and {@link #find()} returns an empty list.
+ */
+
+final class ConflictCore {
+
+    private final CandidateSet c;
+    private final SearchBudget.Meter meter;
+    private ConstraintSolver.Masks masks; // built by the first check that needs a solver
+
+    ConflictCore(CandidateSet c, SearchBudget.Meter meter) {
+        this.c = c;
+        this.meter = meter;
+    }
+
+    /** Course codes of a minimal unsatisfiable subset, in request order; empty when out of budget. */
+    List<String> find() {
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < c.size(); i++) all.add(i);
+        if (consistent(all)) return List.of();
+
+        List<Integer> core = quickXplain(List.of(), false, all);
+        if (meter.spent()) return List.of();
+        return core.stream().sorted().map(c::code).toList();
+    }
+
+    /**
+     * Smallest part of {@code candidates} that, together with {@code background}, is unsatisfiable.
+     * {@code checkBackground} is false when {@code background} is already known to be satisfiable.
+     */
+    private List<Integer> quickXplain(List<Integer> background, boolean checkBackground, List<Integer> candidates) {
+        if (checkBackground && !consistent(background)) return List.of();
+        if (candidates.size() == 1) return candidates;
+
+        int mid = candidates.size() / 2;
+        List<Integer> first = candidates.subList(0, mid);
+        List<Integer> second = candidates.subList(mid, candidates.size());
+
+        List<Integer> secondCore = quickXplain(union(background, first), !first.isEmpty(), second);
+        List<Integer> firstCore = quickXplain(union(background, secondCore), !secondCore.isEmpty(), first);
+        return union(firstCore, secondCore);
+    }
+
+    private boolean consistent(List<Integer> courses) {
+        if (meter.spent()) return true; // abandoning: unwind without further checks
+        if (courses.size() <= 1) return true; // every course has at least one section
+        if (masks == null) masks = ConstraintSolver.Masks.of(c);
+        return new ConstraintSolver(masks, courses, meter).solve().found();
+    }
+
+    private static List<Integer> union(List<Integer> a, List<Integer> b) {
+        List<Integer> out = new ArrayList<>(a.size() + b.size());
+        out.addAll(a);
+        out.addAll(b);
+        return out;
+    }
+}
@@ -0,0 +1,201 @@
+package com.yupathbuilder.backend.schedule;
+
+import java.util.List;
+
+
+/**
+ * Service layer component: ConstraintSolver.
+ *
+ * <p>{@link SearchMode#PROPAGATE} search over a {@link CandidateSet}. Every course keeps a bitset
+ * domain of the sections still compatible with everything placed so far. The next course is the
+ * one with the smallest domain, and placing a section removes its conflicts from the other domains
+ * (forward checking), so an impossible branch is dropped as soon as some course has nothing left
+ * instead of after enumerating the courses before it.
+ *
+ * <p>Pairwise conflicts between candidates are computed once up front into per-option masks,
+ * which keeps each forward check down to word operations. Solvers over subsets of one set can share
+ * them through {@link Masks}. One instance per search; not thread-safe.
+ *
+ * <p>Every assignment counts against the {@link SearchBudget}; when it runs out, the deepest
+ * consistent assignment seen is returned as the partial schedule.
+ */
+
+final class ConstraintSolver {
+
+    private final CandidateSet c;
+    private final int n;
+    private final int[] words;            // words per course domain
+    private final long[][][][] conflicts; // [course][option][otherCourse] -> options of otherCourse it overlaps
+
+    private final long[][] domain;
+    private final int[] count;
+    private final int[] assignment;
+    private final long[][][] saved;       // domain snapshot per depth, restored on backtrack
+    private final int[][] savedCount;
+
+    private final SearchEffort effort;
+
+    ConstraintSolver(CandidateSet c, SearchBudget.Meter meter) {
+        this(c, Masks.of(c).conflicts, meter);
+    }
+
+    /** Solver over {@code courses} (indices into the set {@code masks} was built for), in that order. */
+    ConstraintSolver(Masks masks, List<Integer> courses, SearchBudget.Meter meter) {
+        this(masks.c.subset(courses), masks.restrict(courses), meter);
+    }
+
+    private ConstraintSolver(CandidateSet c, long[][][][] conflicts, SearchBudget.Meter meter) {
+        this.c = c;
+        this.effort = new SearchEffort(null, meter);
+        this.n = c.size();
+        this.words = new int[n];
+        for (int i = 0; i < n; i++) words[i] = words(c.optionCount(i));
+        this.conflicts = conflicts;
+
+        this.domain = new long[n][];
+        this.count = new int[n];
+        this.assignment = new int[n];
+        this.saved = new long[n][n][];
+        this.savedCount = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            domain[i] = new long[words[i]];
+            for (int d = 0; d < n; d++) saved[d][i] = new long[words[i]];
+        }
+    }
+
+    /** Pairwise conflict masks of one {@link CandidateSet}, computed once; immutable once built. */
+    static final class Masks {
+        private final CandidateSet c;
+        private final long[][][][] conflicts; // as ConstraintSolver#conflicts, over all of c
+
+        private Masks(CandidateSet c, long[][][][] conflicts) {
+            this.c = c;
+            this.conflicts = conflicts;
+        }
+
+        static Masks of(CandidateSet c) {
+            int n = c.size();
+            long[][][][] conflicts = new long[n][][][];
+            for (int a = 0; a < n; a++) {
+                conflicts[a] = new long[c.optionCount(a)][n][];
+                for (int o = 0; o < conflicts[a].length; o++) {
+                    for (int b = 0; b < n; b++) conflicts[a][o][b] = new long[words(c.optionCount(b))];
+                }
+            }
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    for (int o = 0; o < c.optionCount(a); o++) {
+                        for (int p = 0; p < c.optionCount(b); p++) {
+                            if (!c.conflicts(a, o, b, p)) continue;
+                            conflicts[a][o][b][p >>> 6] |= 1L << p;
+                            conflicts[b][p][a][o >>> 6] |= 1L << o;
+                        }
+                    }
+                }
+            }
+            return new Masks(c, conflicts);
+        }
+
+        /** The masks between {@code courses} only, sharing this set's mask arrays. */
+        private long[][][][] restrict(List<Integer> courses) {
+            int n = courses.size();
+            long[][][][] out = new long[n][][][];
+            for (int a = 0; a < n; a++) {
+                long[][][] full = conflicts[courses.get(a)];
+                out[a] = new long[full.length][n][];
+                for (int o = 0; o < full.length; o++) {
+                    for (int b = 0; b < n; b++) out[a][o][b] = full[o][courses.get(b)];
+                }
+            }
+            return out;
+        }
+    }
+
+    ScheduleResult solve() {
+        for (int i = 0; i < n; i++) {
+            int size = c.optionCount(i);
+            for (int o = 0; o < size; o++) domain[i][o >>> 6] |= 1L << o;
+            count[i] = size;
+            assignment[i] = -1;
+        }
+        boolean ok = search(0);
+        effort.settle();
+        if (!ok) {
+            if (effort.budgetExhausted()) return ScheduleResult.exhausted(c, effort.bestPartial(), effort.stats());
+            return ScheduleResult.none(effort.stats());
+        }
+
+        return new ScheduleResult(c.sections(assignment), effort.stats());
+    }
+
+    private boolean search(int depth) {
+        if (depth == n) return true;
+
+        int course = mostConstrained();
+        save(depth);
+        long[] options = saved[depth][course];
+        for (int w = 0; w < options.length; w++) {
+            for (long bits = options[w]; bits != 0; bits &= bits - 1) {
+                if (effort.shouldStop()) return false;
+                int option = (w << 6) + Long.numberOfTrailingZeros(bits);
+                effort.nodes++;
+                assignment[course] = option;
+                if (forwardCheck(course, option)) {
+                    if (effort.improvesPartial(depth + 1)) effort.recordPartial(assignment.clone(), depth + 1);
+                    if (search(depth + 1)) return true;
+                } else {
+                    effort.prunes++;
+                }
+                restore(depth);
+            }
+        }
+        assignment[course] = -1;
+        return false;
+    }
+
+    /** Unassigned course with the fewest compatible sections left; ties go to request order. */
+    private int mostConstrained() {
+        int best = -1;
+        for (int i = 0; i < n; i++) {
+            if (assignment[i] >= 0) continue;
+            if (best < 0 || count[i] < count[best]) best = i;
+        }
+        return best;
+    }
+
+    /** Removes the placed section's conflicts from every open domain; false on a wipe-out. */
+    private boolean forwardCheck(int course, int option) {
+        long[][] masks = conflicts[course][option];
+        for (int k = 0; k < n; k++) {
+            if (assignment[k] >= 0) continue;
+            long[] d = domain[k];
+            long[] m = masks[k];
+            int remaining = 0;
+            for (int w = 0; w < d.length; w++) {
+                d[w] &= ~m[w];
+                remaining += Long.bitCount(d[w]);
+            }
+            count[k] = remaining;
+            if (remaining == 0) return false;
+        }
+        return true;
+    }
+
+    private void save(int depth) {
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(domain[i], 0, saved[depth][i], 0, words[i]);
+            savedCount[depth][i] = count[i];
+        }
+    }
+
+    private void restore(int depth) {
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(saved[depth][i], 0, domain[i], 0, words[i]);
+            count[i] = savedCount[depth][i];
+        }
+    }
+
+    private static int words(int options) {
+        return (options + 63) >>> 6;
+    }
+}
@@ -0,0 +1,190 @@
+package com.yupathbuilder.backend.schedule;
+
+import com.yupathbuilder.backend.schedule.CandidateSet.Placement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Service layer component: ParallelSearch.
+ *
+ * <p>{@link SearchMode#PARALLEL}: the valid prefixes of the first few courses are enumerated in
+ * sequential search order and each becomes a branch of the backtracking tree, searched on the
+ * common fork/join pool. Branches are split by halving index ranges, so a worker finishes the
+ * leftmost (earliest) branches first and thieves take the far end.
+ *
+ * <p>The sequential search returns the solution of the earliest branch that has one, so
+ * {@code winner} keeps the lowest branch index that found a solution. Any branch with a higher
+ * index stops at its next node (or never starts), while earlier branches keep running, since one
+ * of them could still win. As long as the budget lasts, the answer is therefore identical to
+ * {@link SearchMode#BACKTRACK}.
+ *
+ * <p>Prefix enumeration and all branches draw on one {@link SearchBudget.Meter}. If it runs out while
+ * the prefixes are still being enumerated, no branch starts. If it runs out before any branch wins,
+ * the partial schedule placing the most courses (earliest branch on ties) is returned. If a branch
+ * wins but an earlier one was cut by the budget, the schedule is returned with
+ * {@code budgetExhausted} set: it is valid, but may not be the one BACKTRACK would pick, so it is
+ * not cached.
+ */
+
+final class ParallelSearch {
+
+    /** Searches with fewer raw section combinations than this stay on the request thread. */
+    static final long SEQUENTIAL_THRESHOLD = 50_000;
+    private static final int MAX_SPLIT_DEPTH = 3;
+
+    private final CandidateSet c;
+    private final SearchBudget.Meter meter;
+    private final int depth;
+    private final AtomicInteger winner = new AtomicInteger(Integer.MAX_VALUE);
+
+    ParallelSearch(CandidateSet c, SearchBudget.Meter meter) {
+        this.c = c;
+        this.meter = meter;
+        this.depth = splitDepth(c, 4 * ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    static boolean worthSplitting(CandidateSet c) {
+        if (c.size() < 2 || ForkJoinPool.getCommonPoolParallelism() < 2) return false;
+        long combos = 1;
+        for (int i = 0; i < c.size(); i++) {
+            combos *= c.optionCount(i);
+            if (combos >= SEQUENTIAL_THRESHOLD) return true;
+        }
+        return false;
+    }
+
+    /** Shallowest depth giving at least {@code target} raw prefixes; always leaves one course to search. */
+    private static int splitDepth(CandidateSet c, int target) {
+        int max = Math.min(MAX_SPLIT_DEPTH, c.size() - 1);
+        long prefixes = 1;
+        int d = 0;
+        while (d < max && prefixes < target) prefixes *= c.optionCount(d++);
+        return Math.max(d, 1);
+    }
+
+    ScheduleResult solve() {
+        SearchEffort prefixEffort = new SearchEffort(null, meter);
+        List<int[]> prefixes = new ArrayList<>();
+        collectPrefixes(0, new int[c.size()], c.newPlacement(), prefixes, prefixEffort);
+        prefixEffort.settle();
+        if (prefixEffort.budgetExhausted()) {
+            return ScheduleResult.exhausted(c, prefixEffort.bestPartial(), prefixEffort.stats());
+        }
+
+        Branch[] branches = new Branch[prefixes.size()];
+        for (int i = 0; i < branches.length; i++) branches[i] = new Branch(i, prefixes.get(i));
+        if (branches.length > 0) ForkJoinPool.commonPool().invoke(new Range(branches, 0, branches.length));
+
+        long nodes = prefixEffort.nodes;
+        long prunes = prefixEffort.prunes;
+        boolean exhausted = false;
+        SearchEffort best = null;
+        for (Branch b : branches) {
+            exhausted |= b.outOfBudget;
+            if (b.effort == null) continue;
+            nodes += b.effort.nodes;
+            prunes += b.effort.prunes;
+            exhausted |= b.effort.budgetExhausted();
+            if (best == null || b.effort.bestPlaced() > best.bestPlaced()) best = b.effort;
+        }
+        SearchStats stats = new SearchStats(nodes, prunes);
+
+        int w = winner.get();
+        if (w != Integer.MAX_VALUE) {
+            // an earlier branch cut short by the budget might have held the sequential answer
+            boolean earlierCut = false;
+            for (int i = 0; i < w; i++) {
+                earlierCut |= branches[i].outOfBudget || branches[i].effort != null && branches[i].effort.budgetExhausted();
+            }
+            return new ScheduleResult(c.sections(branches[w].result), stats, earlierCut, List.of(), List.of(), List.of());
+        }
+        if (exhausted) return ScheduleResult.exhausted(c, best == null ? null : best.bestPartial(), stats);
+        return ScheduleResult.none(stats);
+    }
+
+    /**
+     * Non-conflicting prefixes of length {@code depth}, in the order the sequential search visits them.
+     * Each step is charged to {@code effort}, which abandons the enumeration once the budget is spent.
+     */
+    private void collectPrefixes(int i, int[] prefix, Placement placed, List<int[]> out, SearchEffort effort) {
+        if (i == depth) {
+            out.add(Arrays.copyOf(prefix, depth));
+            return;
+        }
+        for (int j = 0; j < c.optionCount(i); j++) {
+            if (effort.shouldStop()) return;
+            if (!placed.fits(i, j)) {
+                effort.prunes++;
+                continue;
+            }
+            effort.nodes++;
+            prefix[i] = j;
+            placed.place(i, j);
+            if (effort.improvesPartial(i + 1)) effort.recordPrefix(prefix, i + 1);
+            collectPrefixes(i + 1, prefix, placed, out, effort);
+            placed.unplace(i, j);
+        }
+    }
+
+    private final class Branch {
+        final int index;
+        final int[] prefix;
+        SearchEffort effort;   // null if the branch was skipped
+        boolean outOfBudget;   // skipped because the shared budget was already spent
+        int[] result;          // option per course
+
+        Branch(int index, int[] prefix) {
+            this.index = index;
+            this.prefix = prefix;
+        }
+
+        void run() {
+            if (winner.get() < index) return; // an earlier branch already won
+            if (meter != null && meter.spent()) {
+                outOfBudget = true;
+                return;
+            }
+
+            Placement placed = c.newPlacement();
+            for (int i = 0; i < depth; i++) placed.place(i, prefix[i]);
+            int[] chosen = Arrays.copyOf(prefix, c.size());
+            effort = new SearchEffort(() -> winner.get() < index, meter);
+            effort.recordPrefix(chosen, depth);
+            if (ScheduleService.backtrack(depth, c, chosen, placed, effort)) {
+                result = chosen;
+                winner.accumulateAndGet(index, Math::min);
+            }
+        }
+    }
+
+    private final class Range extends RecursiveAction {
+        private final Branch[] branches;
+        private final int from;
+        private final int to;
+
+        Range(Branch[] branches, int from, int to) {
+            this.branches = branches;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                branches[from].run();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            Range right = new Range(branches, mid, to);
+            right.fork();
+            new Range(branches, from, mid).compute();
+            right.join();
+        }
+    }
+}
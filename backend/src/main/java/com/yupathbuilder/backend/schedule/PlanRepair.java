@@ -0,0 +1,93 @@
+package com.yupathbuilder.backend.schedule;
+
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.schedule.CandidateSet.Placement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Service layer component: PlanRepair.
+ *
+ * <p>Fits one more course into an existing plan while changing as few of its sections as possible.
+ * Course 0 of the {@link CandidateSet} is the new course; every other course is one section already
+ * in the plan, whose option 0 is that section and whose remaining options are its alternatives.
+ *
+ * <p>The search is branch-and-bound from the existing assignment: each slot tries its current
+ * section first (free) before any swap (cost 1), so the first complete schedule is already close to
+ * the plan, and later branches are cut as soon as their swaps plus the slots that are forced to
+ * change (their current section overlaps something placed) reach the best found so far.
+ * One instance per search; not thread-safe.
+ */
+
+final class PlanRepair {
+
+    private final CandidateSet c;
+    private final int n;
+    private final SearchEffort effort;
+    private final Placement placed;
+
+    private final int[] choice;
+    private int[] best;
+    private int bestCost = Integer.MAX_VALUE;
+
+    PlanRepair(CandidateSet c, SearchBudget.Meter meter) {
+        this.c = c;
+        this.n = c.size();
+        this.effort = new SearchEffort(null, meter);
+        this.placed = c.newPlacement();
+        this.choice = new int[n];
+    }
+
+    RepairResult solve() {
+        search(0, 0);
+        if (best == null) return RepairResult.none(effort.stats(), effort.budgetExhausted());
+
+        List<Section> sections = new ArrayList<>(n - 1);
+        List<RepairResult.SectionSwap> swaps = new ArrayList<>();
+        for (int i = 1; i < n; i++) {
+            Section chosen = c.section(i, best[i]);
+            sections.add(chosen);
+            if (best[i] != 0) swaps.add(new RepairResult.SectionSwap(c.section(i, 0), chosen));
+        }
+        Section added = c.section(0, best[0]);
+        sections.add(added);
+        return new RepairResult(List.copyOf(sections), added, List.copyOf(swaps), effort.stats(), effort.budgetExhausted());
+    }
+
+    private void search(int i, int cost) {
+        if (i == n) {
+            best = choice.clone();
+            bestCost = cost;
+            return;
+        }
+        if (cost + forcedChanges(i) >= bestCost) {
+            effort.prunes++;
+            return;
+        }
+
+        for (int o = 0; o < c.optionCount(i); o++) {
+            if (bestCost == 0 || effort.shouldStop()) return;
+            int next = cost + (i > 0 && o > 0 ? 1 : 0);
+            if (next >= bestCost || !placed.fits(i, o)) {
+                effort.prunes++;
+                continue;
+            }
+            effort.nodes++;
+            choice[i] = o;
+            placed.place(i, o);
+            search(i + 1, next);
+            placed.unplace(i, o);
+        }
+    }
+
+    /** Lower bound on the swaps still needed: open slots whose current section no longer fits. */
+    private int forcedChanges(int from) {
+        int forced = 0;
+        for (int k = Math.max(from, 1); k < n; k++) {
+            if (!placed.fits(k, 0)) forced++;
+        }
+        return forced;
+    }
+}
@@ -0,0 +1,24 @@
+package com.yupathbuilder.backend.schedule;
+
+import com.yupathbuilder.backend.schedule.dto.RankedSchedule;
+
+import java.util.List;
+
+
+/**
+ * Service layer component: RankResult.
+ *
+ * <p>Outcome of {@link ScheduleService#topK}: the best schedules found, lowest score first, and the effort
+ * it took. If {@code budgetExhausted} is set the enumeration was cut short: the schedules are valid and
+ * ranked among themselves, but better ones may exist, and an empty list does not prove that none does.
+ */
+
+public record RankResult(
+        List<RankedSchedule> schedules,
+        SearchStats stats,
+        boolean budgetExhausted
+) {
+    static RankResult none(SearchStats stats) {
+        return new RankResult(List.of(), stats, false);
+    }
+}
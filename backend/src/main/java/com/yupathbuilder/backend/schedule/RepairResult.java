@@ -0,0 +1,36 @@
+package com.yupathbuilder.backend.schedule;
+
+import com.yupathbuilder.backend.model.Section;
+
+import java.util.List;
+
+
+/**
+ * Service layer component: RepairResult.
+ *
+ * <p>Outcome of {@link ScheduleService#repair}: the plan's sections after adding the course (plan order,
+ * new section last), the section that was {@code added}, and the {@code swaps} made to existing
+ * sections. {@code sections} is {@code null} when the course cannot be fitted.
+ *
+ * <p>If {@code budgetExhausted} is set the search was cut short: a returned repair is valid but may
+ * use more swaps than necessary, and a missing one does not prove that none exists.
+ */
+
+public record RepairResult(
+        List<Section> sections,
+        Section added,
+        List<SectionSwap> swaps,
+        SearchStats stats,
+        boolean budgetExhausted
+) {
+    /** One existing section replaced by another section of the same course. */
+    public record SectionSwap(Section from, Section to) {}
+
+    static RepairResult none(SearchStats stats, boolean budgetExhausted) {
+        return new RepairResult(null, null, List.of(), stats, budgetExhausted);
+    }
+
+    public boolean found() {
+        return sections != null;
+    }
+}
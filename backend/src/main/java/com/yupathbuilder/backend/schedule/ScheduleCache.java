@@ -0,0 +1,93 @@
+package com.yupathbuilder.backend.schedule;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Service layer component: ScheduleCache.
+ *
+ * <p>Bounded LRU cache of {@link ScheduleResult}s in front of {@link ScheduleService#build}. Keys are
+ * the normalized term plus the normalized course codes in request order, since the search order picks
+ * the schedule: the same list in any spelling hits the same entry, a reordered one does not. "No
+ * schedule" results are cached too. Entries are only valid
+ * for the catalog they were computed from: call {@link #invalidateAll()} whenever it is reloaded.
+ *
+ * <p>A search can still be running on the old catalog when the cache is cleared. Callers take the
+ * {@link #generation()} before reading the catalog and pass it to {@link #put}; a result computed
+ * before the last {@link #invalidateAll()} is dropped instead of stored.
+ */
+
+public final class ScheduleCache {
+
+    private final int maxEntries;
+    private final Map<Key, ScheduleResult> entries;
+    private long generation; // guarded by entries
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /** {@code maxEntries <= 0} disables caching (every lookup is a miss). */
+    public ScheduleCache(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ScheduleResult> eldest) {
+                if (size() <= ScheduleCache.this.maxEntries) return false;
+                evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    ScheduleResult get(Key key) {
+        ScheduleResult r;
+        synchronized (entries) {
+            r = entries.get(key);
+        }
+        (r == null ? misses : hits).incrementAndGet();
+        return r;
+    }
+
+    /** Increases with every {@link #invalidateAll()}. */
+    long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /** Stores {@code result} unless the cache was invalidated since {@code generation} was read. */
+    void put(Key key, ScheduleResult result, long generation) {
+        if (maxEntries == 0) return;
+        synchronized (entries) {
+            if (generation == this.generation) entries.put(key, result);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.get(), misses.get(), evictions.get(), size, maxEntries);
+    }
+
+    /** {@code codes} must already be normalized, in search order. PARALLEL shares BACKTRACK entries (same answer). */
+    record Key(String term, List<String> codes, boolean propagate) {
+        static Key of(String term, List<String> codes, SearchMode mode) {
+            return new Key(term == null ? "" : term.trim().toUpperCase(), List.copyOf(codes), mode == SearchMode.PROPAGATE);
+        }
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size, int maxEntries) {}
+}
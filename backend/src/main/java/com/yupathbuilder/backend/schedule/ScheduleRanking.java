@@ -0,0 +1,76 @@
+package com.yupathbuilder.backend.schedule;
+
+import com.yupathbuilder.backend.model.MeetingPattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Service layer component: ScheduleRanking.
+ *
+ * <p>Built-in {@link ScheduleScorer}s exposed to the API as {@code rankBy}.
+ */
+
+public enum ScheduleRanking implements ScheduleScorer {
+
+    /** Fewest distinct days on campus. Adding sections never removes a day, so partial days bound the result. */
+    FEWEST_DAYS {
+        @Override
+        public double score(List<MeetingPattern> schedule) {
+            return Integer.bitCount(dayMask(schedule));
+        }
+
+        @Override
+        public double lowerBound(List<MeetingPattern> partial) {
+            return score(partial);
+        }
+    },
+
+    /** Smallest total idle minutes between classes on the same day. Not monotone, so no pruning. */
+    SMALLEST_GAPS {
+        @Override
+        public double score(List<MeetingPattern> schedule) {
+            int total = 0;
+            for (int day = 0; day < WeekOccupancy.DAYS; day++) {
+                List<int[]> ranges = new ArrayList<>();
+                for (MeetingPattern p : schedule) {
+                    for (int m = 0; m < p.size(); m++) {
+                        if ((p.dayMask(m) & (1 << day)) != 0) ranges.add(new int[]{p.startMinute(m), p.endMinute(m)});
+                    }
+                }
+                ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+                int end = -1;
+                for (int[] r : ranges) {
+                    if (end >= 0 && r[0] > end) total += r[0] - end;
+                    end = Math.max(end, r[1]);
+                }
+            }
+            return total;
+        }
+    },
+
+    /** Latest first class of the week. The earliest start only moves earlier as sections are added. */
+    LATEST_START {
+        @Override
+        public double score(List<MeetingPattern> schedule) {
+            int earliest = WeekOccupancy.MINUTES_PER_DAY;
+            for (MeetingPattern p : schedule) {
+                if (!p.isEmpty()) earliest = Math.min(earliest, p.earliestStart());
+            }
+            return -earliest;
+        }
+
+        @Override
+        public double lowerBound(List<MeetingPattern> partial) {
+            return score(partial);
+        }
+    };
+
+    private static int dayMask(List<MeetingPattern> schedule) {
+        // Timed meeting days only; sections without times take no slot on the grid.
+        int mask = 0;
+        for (MeetingPattern p : schedule) mask |= p.dayMask();
+        return mask;
+    }
+}
@@ -0,0 +1,57 @@
+package com.yupathbuilder.backend.schedule;
+
+import com.yupathbuilder.backend.model.Section;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Service layer component: ScheduleResult.
+ *
+ * <p>Outcome of one schedule search: the chosen sections (in course order, {@code null} when no
+ * schedule was found) and the effort it took. If the {@link SearchBudget} ran out first,
+ * {@code budgetExhausted} is set and {@code partial} / {@code unplacedCourses} hold the best partial
+ * schedule found (most courses placed) and the courses it is missing. A search that still found a
+ * schedule, but not necessarily the one an unlimited search would return, reports {@code sections}
+ * with {@code budgetExhausted} set.
+ *
+ * <p>When the request was proven unsatisfiable, {@code conflictCore} names a minimal set of the
+ * requested courses that cannot be taken together (empty if it could not be computed in budget).
+ */
+
+public record ScheduleResult(
+        List<Section> sections,
+        SearchStats stats,
+        boolean budgetExhausted,
+        List<Section> partial,
+        List<String> unplacedCourses,
+        List<String> conflictCore
+) {
+    public ScheduleResult(List<Section> sections, SearchStats stats) {
+        this(sections, stats, false, List.of(), List.of(), List.of());
+    }
+
+    public static ScheduleResult none(SearchStats stats) {
+        return new ScheduleResult(null, stats);
+    }
+
+    static ScheduleResult unsatisfiable(SearchStats stats, List<String> conflictCore) {
+        return new ScheduleResult(null, stats, false, List.of(), List.of(), conflictCore);
+    }
+
+    /** Budget ran out: {@code best[i]} is the option placed for course {@code i}, or -1. */
+    static ScheduleResult exhausted(CandidateSet c, int[] best, SearchStats stats) {
+        List<Section> partial = new ArrayList<>();
+        List<String> unplaced = new ArrayList<>();
+        for (int i = 0; i < c.size(); i++) {
+            if (best != null && best[i] >= 0) partial.add(c.section(i, best[i]));
+            else unplaced.add(c.code(i));
+        }
+        return new ScheduleResult(null, stats, true, List.copyOf(partial), List.copyOf(unplaced), List.of());
+    }
+
+    public boolean found() {
+        return sections != null;
+    }
+}
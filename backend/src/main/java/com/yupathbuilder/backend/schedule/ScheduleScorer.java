@@ -0,0 +1,27 @@
+package com.yupathbuilder.backend.schedule;
+
+import com.yupathbuilder.backend.model.MeetingPattern;
+
+import java.util.List;
+
+
+/**
+ * Service layer component: ScheduleScorer.
+ *
+ * <p>Pluggable cost function for ranking complete schedules (lower is better).
+ * See {@link ScheduleRanking} for the built-in ones.
+ */
+
+public interface ScheduleScorer {
+
+    /** Cost of a complete schedule, given every meeting of each of its sections (one pattern per section). */
+    double score(List<MeetingPattern> schedule);
+
+    /**
+     * Lower bound on the score of any schedule that extends {@code partial}; used for branch-and-bound.
+     * It must never exceed the final score. The default disables pruning.
+     */
+    default double lowerBound(List<MeetingPattern> partial) {
+        return Double.NEGATIVE_INFINITY;
+    }
+}
@@ -1,11 +1,21 @@
 package com.yupathbuilder.backend.schedule;
 
+import com.yupathbuilder.backend.index.CourseSectionIndex;
+import com.yupathbuilder.backend.index.SectionConflictMatrix;
+import com.yupathbuilder.backend.model.MeetingPattern;
 import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.repo.CatalogReloadedEvent;
 import com.yupathbuilder.backend.repo.SectionRepository;
+import com.yupathbuilder.backend.schedule.CandidateSet.Placement;
+import com.yupathbuilder.backend.schedule.dto.BuildScheduleRequest;
+import com.yupathbuilder.backend.schedule.dto.RankedSchedule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -17,10 +27,31 @@ import java.util.*;
 @Service
 public class ScheduleService {
 
+    static final int DEFAULT_CACHE_SIZE = 1000;
+    static final long DEFAULT_MAX_TIME_MS = 2000;
+    static final long DEFAULT_MAX_NODES = 10_000_000;
+    static final long MIN_EXPLAIN_NODES = 10_000;
+
     private final SectionRepository sections;
+    private final ScheduleCache cache;
+    private final SearchBudget limit;
 
     public ScheduleService(SectionRepository sections) {
+        this(sections, DEFAULT_CACHE_SIZE);
+    }
+
+    public ScheduleService(SectionRepository sections, int cacheSize) {
+        this(sections, cacheSize, DEFAULT_MAX_TIME_MS, DEFAULT_MAX_NODES);
+    }
+
+    @Autowired
+    public ScheduleService(SectionRepository sections,
+                           @Value("${app.schedule.cache-size:" + DEFAULT_CACHE_SIZE + "}") int cacheSize,
+                           @Value("${app.schedule.max-time-ms:" + DEFAULT_MAX_TIME_MS + "}") long maxTimeMs,
+                           @Value("${app.schedule.max-nodes:" + DEFAULT_MAX_NODES + "}") long maxNodes) {
         this.sections = sections;
+        this.cache = new ScheduleCache(cacheSize);
+        this.limit = new SearchBudget(maxTimeMs, maxNodes);
     }
     /**
      * Attempts to build a non-conflicting schedule by choosing exactly one section per course.
@@ -32,108 +63,375 @@ public class ScheduleService {
      * </ul>
      */
     public Optional<List<Section>> build(String term, List<String> courseCodes) {
+        return Optional.ofNullable(build(term, courseCodes, SearchMode.BACKTRACK).sections());
+    }
+    /**
+     * Same as {@link #build(String, List)} with an explicit search strategy, also reporting the
+     * search effort. A {@code null} mode means {@link SearchMode#BACKTRACK}.
+     *
+     * <p>Courses are searched in request order, which decides the schedule returned when several fit.
+     * Results (including "none") are served from the {@link ScheduleCache} when the same term and
+     * course list, in the same order after normalization, was built before; so a hit always returns
+     * what a fresh search would, and a reordered list is a separate entry.
+     *
+     * <p>The search runs under the server-wide budget ({@code app.schedule.max-time-ms} /
+     * {@code app.schedule.max-nodes}).
+     */
+    public ScheduleResult build(String term, List<String> courseCodes, SearchMode mode) {
+        return build(term, courseCodes, mode, SearchBudget.UNLIMITED);
+    }
+    /**
+     * Same as {@link #build(String, List, SearchMode)} with a per-request budget, which can only
+     * tighten the server-wide one. If the budget runs out the result is
+     * {@link ScheduleResult#budgetExhausted()}, carrying the best partial schedule and the courses it
+     * leaves out; such results are not cached, since a larger budget may still find an answer.
+     */
+    public ScheduleResult build(String term, List<String> courseCodes, SearchMode mode, SearchBudget budget) {
+        return build(term, courseCodes, mode, budget, lookup(false));
+    }
+    /**
+     * Runs many {@link #build(String, List, SearchMode, SearchBudget)} requests at once and returns
+     * their results in input order. Requests for the same term, course list, mode and budget are
+     * searched once; catalog lookups are shared by the whole batch, which reads one catalog version
+     * throughout; and the distinct builds run in parallel on the common fork/join pool.
+     */
+    public List<ScheduleResult> buildAll(List<BuildScheduleRequest> requests) {
+        Lookup shared = lookup(true);
+
+        Map<BatchKey, Integer> distinct = new HashMap<>();
+        List<BuildScheduleRequest> jobs = new ArrayList<>();
+        int[] job = new int[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            BuildScheduleRequest req = requests.get(i);
+            BatchKey key = new BatchKey(ScheduleCache.Key.of(req.term(), normalizedCodes(req.courseCodes()), req.mode()), req.budget());
+            job[i] = distinct.computeIfAbsent(key, k -> {
+                jobs.add(req);
+                return jobs.size() - 1;
+            });
+        }
+
+        List<ScheduleResult> results = jobs.parallelStream()
+                .map(req -> build(req.term(), req.courseCodes(), req.mode(), req.budget(), shared))
+                .toList();
+        return Arrays.stream(job).mapToObj(results::get).toList();
+    }
+
+    private ScheduleResult build(String term, List<String> courseCodes, SearchMode mode, SearchBudget budget,
+                                 Lookup lookup) {
+        List<String> normalized = normalizedCodes(courseCodes);
+        ScheduleCache.Key key = ScheduleCache.Key.of(term, normalized, mode);
+        ScheduleResult cached = cache.get(key);
+        if (cached != null) return cached;
+
+        SearchBudget.Meter meter = (budget == null ? SearchBudget.UNLIMITED : budget).capTo(limit).start();
+        ScheduleResult result = search(term, normalized, mode, meter, lookup);
+        if (!result.budgetExhausted()) cache.put(key, result, lookup.generation);
+        return result;
+    }
+
+    /** Drops every cached schedule; searches still running on the old catalog will not store theirs. */
+    public void invalidateCache() {
+        cache.invalidateAll();
+    }
+
+    /** Cached schedules refer to the old sections once the catalog has been swapped. */
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        invalidateCache();
+    }
+
+    public ScheduleCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    private ScheduleResult search(String term, List<String> codes, SearchMode mode, SearchBudget.Meter meter,
+                                  Lookup lookup) {
+        CandidateSet c = collect(term, codes, lookup);
+        // a course with no sections is a conflict core on its own
+        int missing = c.emptyCourse();
+        if (missing >= 0) return ScheduleResult.unsatisfiable(SearchStats.NONE, List.of(c.code(missing)));
+
+        ScheduleResult result = solve(c, mode, meter);
+        if (result.found() || result.budgetExhausted()) return result;
+        return ScheduleResult.unsatisfiable(result.stats(), explain(c, result.stats()));
+    }
+
+    /**
+     * Minimal conflicting course subset of an unsatisfiable request. The explanation may spend at
+     * most as many search nodes as the failed search did (but at least {@link #MIN_EXPLAIN_NODES}),
+     * and never more than the server-wide budget.
+     */
+    private List<String> explain(CandidateSet c, SearchStats failed) {
+        long nodes = Math.max(MIN_EXPLAIN_NODES, failed.nodes() + failed.prunes());
+        return new ConflictCore(c, new SearchBudget(0, nodes).capTo(limit).start()).find();
+    }
+
+    private static ScheduleResult solve(CandidateSet c, SearchMode mode, SearchBudget.Meter meter) {
+        if (mode == SearchMode.PROPAGATE) return new ConstraintSolver(c, meter).solve();
+
+        if (mode == SearchMode.PARALLEL && ParallelSearch.worthSplitting(c)) return new ParallelSearch(c, meter).solve();
+
+        int[] chosen = new int[c.size()];
+        SearchEffort effort = new SearchEffort(null, meter);
+        boolean ok = backtrack(0, c, chosen, c.newPlacement(), effort);
+        if (ok) return new ScheduleResult(c.sections(chosen), effort.stats());
+        if (effort.budgetExhausted()) return ScheduleResult.exhausted(c, effort.bestPartial(), effort.stats());
+        return ScheduleResult.none(effort.stats());
+    }
+    /**
+     * Enumerates non-conflicting schedules and returns the best {@code k} under {@code scorer},
+     * lowest score first (ties keep search order).
+     *
+     * <p>Only the current top-k are kept, in a bounded max-heap; once it is full, any branch whose
+     * {@link ScheduleScorer#lowerBound} cannot beat the worst kept schedule is cut, so the full
+     * cartesian product is never materialized. Scorers without a useful bound still visit every
+     * schedule, so the enumeration runs under the server-wide budget; when it runs out, the best
+     * schedules found so far are returned with {@link RankResult#budgetExhausted()} set.
+     */
+    public RankResult topK(String term, List<String> courseCodes, int k, ScheduleScorer scorer) {
+        if (k <= 0 || scorer == null) return RankResult.none(SearchStats.NONE);
+        CandidateSet c = collect(term, normalize(courseCodes), lookup(false));
+        if (c.emptyCourse() >= 0) return RankResult.none(SearchStats.NONE);
+
+        // head = worst kept schedule (highest score, then latest found)
+        PriorityQueue<Ranked> best = new PriorityQueue<>(Comparator
+                .comparingDouble((Ranked r) -> r.score).reversed()
+                .thenComparing(Comparator.comparingLong((Ranked r) -> r.seq).reversed()));
+        SearchEffort effort = new SearchEffort(null, limit.start());
+        enumerate(0, c, new int[c.size()], new ArrayList<>(), c.newPlacement(), k, scorer, best, new long[1], effort);
+
+        List<Ranked> sorted = new ArrayList<>(best);
+        sorted.sort(Comparator.comparingDouble((Ranked r) -> r.score).thenComparingLong(r -> r.seq));
+        return new RankResult(sorted.stream().map(r -> new RankedSchedule(r.score, c.sections(r.options))).toList(),
+                effort.stats(), effort.budgetExhausted());
+    }
+
+    /**
+     * Fits {@code courseCode} into a plan that already holds {@code current}, swapping as few of the
+     * current sections as possible for other sections of the same course. The search starts from the
+     * current assignment (see {@link PlanRepair}) and runs under the server-wide budget.
+     *
+     * <p>If the plan already contains the course, the plan is returned unchanged. Sections that are
+     * not in the catalog stay where they are.
+     */
+    public RepairResult repair(String term, List<Section> current, String courseCode) {
+        String code = courseCode == null ? "" : normalizeCode(courseCode);
+        for (Section s : current) {
+            if (s.courseCode() != null && code.equals(s.normalizedCourseCode())) {
+                return new RepairResult(List.copyOf(current), s, List.of(), SearchStats.NONE, false);
+            }
+        }
+
+        Lookup lookup = lookup(false);
+        SectionConflictMatrix matrix = lookup.catalogMatrix(term);
+        CandidateSet c = matrix == null ? null : repairOrdinals(matrix, code, current);
+        if (c == null) c = repairSections(lookup, term, code, current);
+        if (c.optionCount(0) == 0) return RepairResult.none(SearchStats.NONE, false);
+        return new PlanRepair(c, limit.start()).solve();
+    }
+
+    /**
+     * Repair candidates as ordinals of the term's matrix: course 0 is the new course, then each current
+     * section followed by the other sections of its course. Null when some current section is not in the catalog.
+     */
+    private static CandidateSet repairOrdinals(SectionConflictMatrix matrix, String code, List<Section> current) {
+        List<String> codes = new ArrayList<>(List.of(code));
+        int[][] options = new int[current.size() + 1][];
+        options[0] = matrix.courseOrdinals(code);
+        for (int i = 0; i < current.size(); i++) {
+            Section s = current.get(i);
+            int ord = matrix.ordinalOf(s);
+            if (ord < 0) return null;
+            int[] alternatives = s.courseCode() == null ? new int[0] : matrix.courseOrdinals(s.courseCode());
+            int[] row = new int[alternatives.length + 1];
+            row[0] = ord; // option 0: keep the current section
+            int n = 1;
+            for (int alt : alternatives) {
+                if (!s.sectionId().equals(matrix.sectionId(alt))) row[n++] = alt;
+            }
+            options[i + 1] = Arrays.copyOf(row, n);
+            codes.add(s.courseCode());
+        }
+        return CandidateSet.of(codes, options, matrix);
+    }
+
+    /** Same candidates as {@link #repairOrdinals}, looked up as sections (plans holding off-catalog sections). */
+    private static CandidateSet repairSections(Lookup lookup, String term, String code, List<Section> current) {
+        List<Section> incoming = lookup.find(code, term);
+        List<String> codes = new ArrayList<>(List.of(code));
+        List<List<Section>> candidates = new ArrayList<>(List.of(incoming));
+        Map<String, List<Section>> alternatives = new HashMap<>();
+        for (Section s : current) {
+            List<Section> options = new ArrayList<>();
+            options.add(s); // option 0: keep the current section
+            if (s.courseCode() != null) {
+                for (Section alt : alternatives.computeIfAbsent(s.normalizedCourseCode(), k -> lookup.find(k, term))) {
+                    if (!alt.sectionId().equals(s.sectionId())) options.add(alt);
+                }
+            }
+            codes.add(s.courseCode());
+            candidates.add(options);
+        }
+
+        return CandidateSet.of(codes, candidates, lookup.conflictMatrix(term));
+    }
+
+    /**
+     * Pins the catalog version current now, so the lookups of one operation cannot straddle a reload.
+     * The cache generation is taken first: a reload after the pin keeps the operation's results out of the cache.
+     */
+    private Lookup lookup(boolean shared) {
+        long generation = cache.generation();
+        return new Lookup(generation, sections.snapshot().orElse(sections), shared);
+    }
+
+    private static List<String> normalizedCodes(List<String> courseCodes) {
+        return normalize(courseCodes == null ? List.of() : courseCodes);
+    }
+
+    private static List<String> normalize(List<String> courseCodes) {
         // Normalize user input so the scheduler is case/spacing-insensitive.
 // Example: " eecs 2030 " -> "EECS2030"
-        List<String> normalized = courseCodes.stream()
+        return courseCodes.stream()
                 .filter(Objects::nonNull)
-                .map(s -> s.replaceAll("\s+", "").toUpperCase())
+                .map(ScheduleService::normalizeCode)
                 .distinct()
                 .toList();
+    }
+
+    private static String normalizeCode(String code) {
+        return code.replaceAll("\s+", "").toUpperCase();
+    }
+
+    /**
+     * Looks up and orders the candidate sections for every (normalized) course code.
+     * A course with no section in the term gets no options (see {@link CandidateSet#emptyCourse()}).
+     */
+    private CandidateSet collect(String term, List<String> normalized, Lookup lookup) {
+        // when the repository precomputed the term's conflicts, candidates are its ordinals and overlap tests bit lookups
+        SectionConflictMatrix matrix = lookup.catalogMatrix(term);
+        if (matrix != null) {
+            int[][] ordinals = new int[normalized.size()][];
+            for (int i = 0; i < ordinals.length; i++) ordinals[i] = matrix.courseOrdinals(normalized.get(i));
+            return CandidateSet.of(normalized, ordinals, matrix);
+        }
 
         // collect candidate sections per course
         List<List<Section>> candidates = new ArrayList<>();
         for (String code : normalized) {
-            List<Section> list = sections.findByNormalizedCourseCodeAndTerm(code, term);
-            if (list.isEmpty()) return Optional.empty();
-            // stable ordering: prefer earlier start, then sectionId
-            list = new ArrayList<>(list);
-            list.sort(Comparator
-                    .comparing((Section s) -> s.startTime() == null ? LocalTime.MAX : s.startTime())
-                    .thenComparing(Section::sectionId));
-            candidates.add(list);
+            candidates.add(lookup.find(code, term));
         }
-
-        // backtracking
-        List<Section> chosen = new ArrayList<>();
-        Map<Character, List<TimeRange>> occupied = new HashMap<>();
-        for (char d : List.of('M','T','W','R','F','S','U')) occupied.put(d, new ArrayList<>());
-
-        boolean ok = backtrack(0, candidates, chosen, occupied);
-        if (!ok) return Optional.empty();
-        return Optional.of(List.copyOf(chosen));
+        return CandidateSet.of(normalized, candidates, lookup.conflictMatrix(term));
     }
     /**
      * Depth-first search over the cartesian product of candidate sections.
-     * We keep a per-day list of occupied time ranges to prune early when conflicts appear.
+     * The placement state lets us prune as soon as a candidate overlaps what is already placed.
+     * {@code chosen[k]} is the option picked for course {@code k < i}; on success it holds a full assignment.
+     * Returns false without a result once {@code effort} says stop.
      */
-    private boolean backtrack(int i, List<List<Section>> candidates, List<Section> chosen,
-                              Map<Character, List<TimeRange>> occupied) {
-        if (i == candidates.size()) return true;
-
-        for (Section s : candidates.get(i)) {
-            if (fits(s, occupied)) {
-                chosen.add(s);
-                List<Character> days = add(s, occupied);
-                if (backtrack(i + 1, candidates, chosen, occupied)) return true;
-                remove(s, days, occupied);
-                chosen.remove(chosen.size() - 1);
+    static boolean backtrack(int i, CandidateSet c, int[] chosen, Placement placed, SearchEffort effort) {
+        if (i == c.size()) return true;
+
+        for (int j = 0; j < c.optionCount(i); j++) {
+            if (effort.shouldStop()) return false;
+            if (placed.fits(i, j)) {
+                effort.nodes++;
+                chosen[i] = j;
+                placed.place(i, j);
+                if (effort.improvesPartial(i + 1)) effort.recordPrefix(chosen, i + 1);
+                if (backtrack(i + 1, c, chosen, placed, effort)) return true;
+                placed.unplace(i, j);
+            } else {
+                effort.prunes++;
             }
         }
         return false;
     }
 
-    private boolean fits(Section s, Map<Character, List<TimeRange>> occupied) {
-        if (s.startTime() == null || s.endTime() == null) return true; // treat missing as non-conflicting
-        for (char day : parseDays(s.days())) {
-            for (TimeRange r : occupied.getOrDefault(day, List.of())) {
-                if (r.overlaps(s.startTime(), s.endTime())) return false;
-            }
+    /**
+     * Same traversal as {@link #backtrack}, but visits every complete schedule and keeps the best k.
+     * Unwinds with what it has once {@code effort} says stop.
+     */
+    private void enumerate(int i, CandidateSet c, int[] chosen, List<MeetingPattern> meetings, Placement placed,
+                           int k, ScheduleScorer scorer, PriorityQueue<Ranked> best, long[] seq, SearchEffort effort) {
+        if (best.size() == k && scorer.lowerBound(meetings) >= best.peek().score) {
+            effort.prunes++;
+            return;
         }
-        return true;
-    }
 
-    private List<Character> add(Section s, Map<Character, List<TimeRange>> occupied) {
-        List<Character> days = parseDays(s.days());
-        if (s.startTime() == null || s.endTime() == null) return days;
-        for (char d : days) occupied.get(d).add(new TimeRange(s.startTime(), s.endTime(), s.sectionId()));
-        return days;
-    }
+        if (i == c.size()) {
+            double score = scorer.score(meetings);
+            if (best.size() < k) {
+                best.add(new Ranked(score, seq[0]++, chosen.clone()));
+            } else if (score < best.peek().score) {
+                best.poll();
+                best.add(new Ranked(score, seq[0]++, chosen.clone()));
+            }
+            return;
+        }
 
-    private void remove(Section s, List<Character> days, Map<Character, List<TimeRange>> occupied) {
-        if (s.startTime() == null || s.endTime() == null) return;
-        for (char d : days) {
-            occupied.get(d).removeIf(r -> Objects.equals(r.sectionId, s.sectionId()));
+        for (int j = 0; j < c.optionCount(i); j++) {
+            if (effort.shouldStop()) return;
+            if (placed.fits(i, j)) {
+                effort.nodes++;
+                chosen[i] = j;
+                meetings.add(c.meetings(i, j));
+                placed.place(i, j);
+                enumerate(i + 1, c, chosen, meetings, placed, k, scorer, best, seq, effort);
+                placed.unplace(i, j);
+                meetings.remove(meetings.size() - 1);
+            } else {
+                effort.prunes++;
+            }
         }
     }
+
+    private record Ranked(double score, long seq, int[] options) {}
+
     /**
-     * Parses compact day strings like "MW" or "TR" into individual day codes.
-     * We follow York convention where 'R' means Thursday.
+     * Candidate sections and conflict matrices of one operation, all read from one pinned repository.
+     * A shared lookup (a batch) memoizes each course's sections for every build that needs them.
      */
-    private List<Character> parseDays(String days) {
-        if (days == null) return List.of();
-        String d = days.trim().toUpperCase();
-        List<Character> out = new ArrayList<>();
-        for (int i = 0; i < d.length(); i++) {
-            char c = d.charAt(i);
-            if ("MTWRFSU".indexOf(c) >= 0) out.add(c);
+    private static final class Lookup {
+        final long generation;
+        private final SectionRepository repo;
+        private final CourseSectionIndex index; // null -> look up and sort each course
+        private final Map<LookupKey, List<Section>> memo; // null -> not shared
+
+        Lookup(long generation, SectionRepository repo, boolean shared) {
+            this.generation = generation;
+            this.repo = repo;
+            this.index = repo.courseIndex().orElse(null);
+            this.memo = shared ? new ConcurrentHashMap<>() : null;
+        }
+
+        /** The course's sections in the term, in {@link CourseSectionIndex#SEARCH_ORDER}. */
+        List<Section> find(String code, String term) {
+            if (memo != null) return memo.computeIfAbsent(new LookupKey(term, code), k -> load(code, term));
+            return load(code, term);
         }
-        return out;
-    }
 
-    private static class TimeRange {
-        final LocalTime start;
-        final LocalTime end;
-        final String sectionId;
+        SectionConflictMatrix conflictMatrix(String term) {
+            return repo.conflictMatrix(term).orElse(null);
+        }
 
-        TimeRange(LocalTime start, LocalTime end, String sectionId) {
-            this.start = start;
-            this.end = end;
-            this.sectionId = sectionId;
+        /**
+         * The term's matrix when candidates can be read from it. A blank term means every term to the
+         * lookups but only the untermed sections to the matrix, so it gets none.
+         */
+        SectionConflictMatrix catalogMatrix(String term) {
+            return CourseSectionIndex.termKey(term).isEmpty() ? null : conflictMatrix(term);
         }
 
-        boolean overlaps(LocalTime s, LocalTime e) {
-            // overlap if start < otherEnd and otherStart < end
-            return start.isBefore(e) && s.isBefore(end);
+        private List<Section> load(String code, String term) {
+            if (index != null) return index.findInSearchOrder(code, term);
+            List<Section> list = new ArrayList<>(repo.findByNormalizedCourseCodeAndTerm(code, term));
+            list.sort(CourseSectionIndex.SEARCH_ORDER);
+            return list;
         }
     }
+
+    private record LookupKey(String term, String code) {}
+
+    private record BatchKey(ScheduleCache.Key key, SearchBudget budget) {}
 }
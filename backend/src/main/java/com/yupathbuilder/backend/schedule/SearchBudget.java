@@ -0,0 +1,67 @@
+package com.yupathbuilder.backend.schedule;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Service layer component: SearchBudget.
+ *
+ * <p>Upper bound on one schedule search: wall-clock milliseconds and/or search nodes (candidate
+ * sections examined, whether placed or pruned). A value {@code <= 0} means "no limit" for that
+ * dimension. When a budget runs out the search returns the best partial schedule found so far
+ * instead of an answer.
+ */
+
+public record SearchBudget(
+        long maxMillis,
+        long maxNodes
+) {
+    public static final SearchBudget UNLIMITED = new SearchBudget(0, 0);
+
+    /** Per-request budget tightened to the server-wide {@code limit} in each dimension. */
+    public SearchBudget capTo(SearchBudget limit) {
+        return new SearchBudget(min(maxMillis, limit.maxMillis), min(maxNodes, limit.maxNodes));
+    }
+
+    private static long min(long a, long b) {
+        if (a <= 0) return b;
+        if (b <= 0) return a;
+        return Math.min(a, b);
+    }
+
+    Meter start() {
+        return new Meter(this);
+    }
+
+    /**
+     * Running budget shared by every thread of one search. Threads report nodes in batches of
+     * {@link #BATCH} so the shared counter and the clock are only touched occasionally.
+     */
+    static final class Meter {
+        static final int BATCH = 256;
+
+        private final boolean timed;
+        private final long deadline;
+        private final long maxNodes;
+        private final AtomicLong nodes = new AtomicLong();
+        private volatile boolean spent;
+
+        private Meter(SearchBudget budget) {
+            this.timed = budget.maxMillis > 0;
+            this.deadline = timed ? System.nanoTime() + budget.maxMillis * 1_000_000L : 0;
+            this.maxNodes = budget.maxNodes > 0 ? budget.maxNodes : Long.MAX_VALUE;
+        }
+
+        /** Charges {@code batch} nodes; true once the budget is used up (and from then on). */
+        boolean exhausted(int batch) {
+            if (spent) return true;
+            if (nodes.addAndGet(batch) >= maxNodes || (timed && System.nanoTime() - deadline >= 0)) spent = true;
+            return spent;
+        }
+
+        /** Whether some thread already found the budget used up. */
+        boolean spent() {
+            return spent;
+        }
+    }
+}
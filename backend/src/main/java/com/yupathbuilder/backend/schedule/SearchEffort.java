@@ -0,0 +1,99 @@
+package com.yupathbuilder.backend.schedule;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * Service layer component: SearchEffort.
+ *
+ * <p>Mutable node/prune counters for one search thread, plus the ways that search can be told to
+ * stop early, both polled once per step:
+ * <ul>
+ *   <li>a cooperative stop signal (e.g. a sibling fork/join branch already won), and</li>
+ *   <li>a {@link SearchBudget.Meter}; running out of budget sets {@link #budgetExhausted()}.</li>
+ * </ul>
+ * Once stopped, the search unwinds without a result and {@link #stopped()} stays true. While it runs
+ * it records the partial schedule with the most courses placed, which is what a budget-exhausted
+ * request gets back.
+ */
+
+final class SearchEffort {
+
+    long nodes;
+    long prunes;
+
+    private final BooleanSupplier stop;
+    private final SearchBudget.Meter meter;
+    private int unmetered;
+    private boolean stopped;
+    private boolean budgetExhausted;
+
+    private int bestPlaced = -1;
+    private int[] bestPartial; // option per course, -1 = not placed
+
+    SearchEffort() {
+        this(null, null);
+    }
+
+    SearchEffort(BooleanSupplier stop, SearchBudget.Meter meter) {
+        this.stop = stop;
+        this.meter = meter;
+    }
+
+    /** Polled by the search before every step. */
+    boolean shouldStop() {
+        if (stopped) return true;
+        if (meter != null && ++unmetered == SearchBudget.Meter.BATCH) {
+            unmetered = 0;
+            if (meter.exhausted(SearchBudget.Meter.BATCH)) budgetExhausted = stopped = true;
+        }
+        if (stop != null && stop.getAsBoolean()) stopped = true;
+        return stopped;
+    }
+
+    /** Reports polls not yet charged to the meter, so searches shorter than a batch still count. */
+    void settle() {
+        if (meter != null && unmetered > 0) meter.exhausted(unmetered);
+        unmetered = 0;
+    }
+
+    boolean stopped() {
+        return stopped;
+    }
+
+    boolean budgetExhausted() {
+        return budgetExhausted;
+    }
+
+    /** Whether a partial schedule with {@code placed} courses beats the best one recorded so far. */
+    boolean improvesPartial(int placed) {
+        return placed > bestPlaced;
+    }
+
+    /** Records a prefix partial: {@code chosen[i]} is the option of course {@code i} for {@code i < placed}. */
+    void recordPrefix(int[] chosen, int placed) {
+        int[] byCourse = new int[chosen.length];
+        Arrays.fill(byCourse, placed, byCourse.length, -1);
+        System.arraycopy(chosen, 0, byCourse, 0, placed);
+        recordPartial(byCourse, placed);
+    }
+
+    /** Records {@code byCourse} (kept, not copied) as the best partial, -1 marking unplaced courses. */
+    void recordPartial(int[] byCourse, int placed) {
+        bestPartial = byCourse;
+        bestPlaced = placed;
+    }
+
+    int bestPlaced() {
+        return bestPlaced;
+    }
+
+    int[] bestPartial() {
+        return bestPartial;
+    }
+
+    SearchStats stats() {
+        return new SearchStats(nodes, prunes);
+    }
+}
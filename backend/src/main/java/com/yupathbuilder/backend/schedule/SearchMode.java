@@ -0,0 +1,24 @@
+package com.yupathbuilder.backend.schedule;
+
+
+/**
+ * Service layer component: SearchMode.
+ *
+ * <p>How {@link ScheduleService} explores section combinations.
+ */
+
+public enum SearchMode {
+    /** Courses in request order, sections by start time; returns the first schedule in that order. */
+    BACKTRACK,
+    /**
+     * Most-constrained course first with forward checking: after each placement, incompatible sections
+     * are removed from the remaining courses and the branch is dropped as soon as one runs out.
+     * Fails fast on (near-)unsatisfiable requests; may return a different schedule than BACKTRACK.
+     */
+    PROPAGATE,
+    /**
+     * BACKTRACK with the top levels of the tree split into fork/join tasks. Returns exactly the
+     * BACKTRACK schedule; small searches just run sequentially.
+     */
+    PARALLEL
+}
@@ -0,0 +1,17 @@
+package com.yupathbuilder.backend.schedule;
+
+
+/**
+ * Service layer component: SearchStats.
+ *
+ * <p>Effort spent by one schedule search: {@code nodes} counts sections placed on the partial schedule,
+ * {@code prunes} counts branches cut (a candidate rejected by a conflict, or a course left with no
+ * compatible section).
+ */
+
+public record SearchStats(
+        long nodes,
+        long prunes
+) {
+    public static final SearchStats NONE = new SearchStats(0, 0);
+}
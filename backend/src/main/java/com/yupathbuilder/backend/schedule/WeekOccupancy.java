@@ -0,0 +1,132 @@
+package com.yupathbuilder.backend.schedule;
+
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.model.TimeSlot;
+
+import java.util.Arrays;
+
+
+/**
+ * Service layer component: WeekOccupancy.
+ *
+ * <p>Packed weekly occupancy used by the schedule search: one bit per minute across the seven days,
+ * stored in a {@code long[]}. Each section is compiled once into a {@link Footprint} (the words it
+ * touches and the bits it sets in each), so fit / place / unplace are a handful of word operations
+ * and never allocate.
+ */
+
+public final class WeekOccupancy {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int DAYS = TimeSlot.Day.values().length;
+    private static final int WORDS = (DAYS * MINUTES_PER_DAY + 63) / 64;
+
+    private final long[] words = new long[WORDS];
+
+    public boolean fits(Footprint f) {
+        for (int i = 0; i < f.index.length; i++) {
+            if ((words[f.index[i]] & f.bits[i]) != 0) return false;
+        }
+        return true;
+    }
+
+    public void place(Footprint f) {
+        for (int i = 0; i < f.index.length; i++) words[f.index[i]] |= f.bits[i];
+    }
+
+    /**
+     * Clears the footprint's bits. Only valid for a footprint that was placed after a successful
+     * {@link #fits} check, since placed footprints never share a bit.
+     */
+    public void unplace(Footprint f) {
+        for (int i = 0; i < f.index.length; i++) words[f.index[i]] &= ~f.bits[i];
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Compiled, immutable set of minute bits a section occupies during the week.
+     * Sections without a start/end time get an empty footprint (treated as non-conflicting).
+     */
+    public static final class Footprint {
+        static final Footprint EMPTY = new Footprint(new int[0], new long[0]);
+
+        private final int[] index;
+        private final long[] bits;
+
+        private Footprint(int[] index, long[] bits) {
+            this.index = index;
+            this.bits = bits;
+        }
+
+        /** Footprint of the section's primary meeting ({@link Section#meetings()}). */
+        public static Footprint of(Section s) {
+            return s == null ? EMPTY : of(s.meetings());
+        }
+
+        /** Union of every meeting of {@code p}. */
+        public static Footprint of(MeetingPattern p) {
+            if (p == null || p.isEmpty()) return EMPTY;
+            long[] dense = new long[WORDS];
+            for (int m = 0; m < p.size(); m++) setMeeting(dense, p.dayMask(m), p.startMinute(m), p.endMinute(m));
+            return compact(dense);
+        }
+
+        /**
+         * Builds a footprint covering minutes {@code [startMin, endMin)} on each day of
+         * {@code days} (any format accepted by {@link TimeSlot.Day#mask}).
+         */
+        static Footprint of(String days, int startMin, int endMin) {
+            int dayMask = TimeSlot.Day.mask(days);
+            if (dayMask == 0 || endMin <= startMin) return EMPTY;
+            long[] dense = new long[WORDS];
+            setMeeting(dense, dayMask, startMin, endMin);
+            return compact(dense);
+        }
+
+        private static void setMeeting(long[] dense, int dayMask, int startMin, int endMin) {
+            for (int day = 0; day < DAYS; day++) {
+                if ((dayMask & (1 << day)) == 0) continue;
+                int base = day * MINUTES_PER_DAY;
+                setRange(dense, base + startMin, base + endMin);
+            }
+        }
+
+        public boolean isEmpty() {
+            return index.length == 0;
+        }
+
+        /** True when both footprints occupy a common minute; walks the two sorted word lists once. */
+        public boolean intersects(Footprint other) {
+            int i = 0, j = 0;
+            while (i < index.length && j < other.index.length) {
+                if (index[i] < other.index[j]) i++;
+                else if (index[i] > other.index[j]) j++;
+                else if ((bits[i++] & other.bits[j++]) != 0) return true;
+            }
+            return false;
+        }
+
+        private static void setRange(long[] dense, int from, int to) {
+            for (int bit = from; bit < to; bit++) dense[bit >>> 6] |= 1L << bit;
+        }
+
+        private static Footprint compact(long[] dense) {
+            int n = 0;
+            for (long w : dense) if (w != 0) n++;
+            if (n == 0) return EMPTY;
+            int[] index = new int[n];
+            long[] bits = new long[n];
+            int k = 0;
+            for (int i = 0; i < dense.length; i++) {
+                if (dense[i] == 0) continue;
+                index[k] = i;
+                bits[k++] = dense[i];
+            }
+            return new Footprint(index, bits);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.yupathbuilder.backend.schedule.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+
+/**
+ * Service layer component: BatchBuildRequest.
+ *
+ * <p>Many {@link BuildScheduleRequest}s in one call (e.g. an advisor building schedules for a whole cohort).
+ */
+
+public record BatchBuildRequest(
+        @NotEmpty @Size(max = 1000) List<@Valid BuildScheduleRequest> requests
+) {}
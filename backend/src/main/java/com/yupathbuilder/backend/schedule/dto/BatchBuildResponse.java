@@ -0,0 +1,14 @@
+package com.yupathbuilder.backend.schedule.dto;
+
+import java.util.List;
+
+
+/**
+ * Service layer component: BatchBuildResponse.
+ *
+ * <p>One {@link BatchBuildResult} per request, in request order.
+ */
+
+public record BatchBuildResponse(
+        List<BatchBuildResult> results
+) {}
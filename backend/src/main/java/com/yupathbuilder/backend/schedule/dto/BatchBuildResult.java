@@ -0,0 +1,15 @@
+package com.yupathbuilder.backend.schedule.dto;
+
+
+/**
+ * Service layer component: BatchBuildResult.
+ *
+ * <p>Outcome of one request in a batch: the HTTP status the single {@code /build} call would have
+ * answered with, and either its {@code schedule} (200) or its {@code failure} (409).
+ */
+
+public record BatchBuildResult(
+        int status,
+        BuildScheduleResponse schedule,
+        ScheduleFailureResponse failure
+) {}
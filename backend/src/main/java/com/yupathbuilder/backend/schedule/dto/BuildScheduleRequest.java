@@ -1,7 +1,10 @@
 package com.yupathbuilder.backend.schedule.dto;
 
+import com.yupathbuilder.backend.schedule.SearchBudget;
+import com.yupathbuilder.backend.schedule.SearchMode;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
 
 import java.util.List;
 
@@ -10,9 +13,21 @@ import java.util.List;
  * Service layer component: BuildScheduleRequest.
  *
  * <p>Contains business logic (e.g., searching courses, building schedules, detecting conflicts).
+ * {@code timeBudgetMs} / {@code nodeBudget} optionally tighten the server's search budget for this request.
  */
 
 public record BuildScheduleRequest(
         @NotBlank String term,
-        @NotEmpty List<String> courseCodes
-) {}
+        @NotEmpty List<String> courseCodes,
+        SearchMode mode,    // optional, defaults to BACKTRACK
+        @Positive Long timeBudgetMs,
+        @Positive Long nodeBudget
+) {
+    public BuildScheduleRequest(String term, List<String> courseCodes, SearchMode mode) {
+        this(term, courseCodes, mode, null, null);
+    }
+
+    public SearchBudget budget() {
+        return new SearchBudget(timeBudgetMs == null ? 0 : timeBudgetMs, nodeBudget == null ? 0 : nodeBudget);
+    }
+}
@@ -1,6 +1,7 @@
 package com.yupathbuilder.backend.schedule.dto;
 
 import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.schedule.SearchStats;
 
 import java.util.List;
 
@@ -9,9 +10,14 @@ import java.util.List;
  * Service layer component: BuildScheduleResponse.
  *
  * <p>Contains business logic (e.g., searching courses, building schedules, detecting conflicts).
+ * When the search budget ran out, {@code complete} is false, {@code chosenSections} is the best partial
+ * schedule found and {@code unplacedCourses} lists the requested courses it is missing.
  */
 
 public record BuildScheduleResponse(
         String term,
-        List<Section> chosenSections
+        List<Section> chosenSections,
+        SearchStats stats,
+        boolean complete,
+        List<String> unplacedCourses
 ) {}
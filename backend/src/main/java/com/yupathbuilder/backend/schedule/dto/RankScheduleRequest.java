@@ -0,0 +1,28 @@
+package com.yupathbuilder.backend.schedule.dto;
+
+import com.yupathbuilder.backend.schedule.ScheduleRanking;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+
+/**
+ * Service layer component: RankScheduleRequest.
+ *
+ * <p>Like {@link BuildScheduleRequest}, plus how many schedules to return and how to rank them.
+ * Missing {@code k} / {@code rankBy} default to 5 and {@code FEWEST_DAYS}.
+ */
+
+public record RankScheduleRequest(
+        @NotBlank String term,
+        @NotEmpty List<String> courseCodes,
+        @Min(1) @Max(50) Integer k,
+        ScheduleRanking rankBy
+) {
+    public int limit() { return k == null ? 5 : k; }
+
+    public ScheduleRanking ranking() { return rankBy == null ? ScheduleRanking.FEWEST_DAYS : rankBy; }
+}
@@ -0,0 +1,23 @@
+package com.yupathbuilder.backend.schedule.dto;
+
+import com.yupathbuilder.backend.schedule.ScheduleRanking;
+import com.yupathbuilder.backend.schedule.SearchStats;
+
+import java.util.List;
+
+
+/**
+ * Service layer component: RankScheduleResponse.
+ *
+ * <p>Contains business logic (e.g., searching courses, building schedules, detecting conflicts).
+ * When the search budget ran out, {@code complete} is false and {@code schedules} are the best found
+ * before it did.
+ */
+
+public record RankScheduleResponse(
+        String term,
+        ScheduleRanking rankBy,
+        List<RankedSchedule> schedules,
+        SearchStats stats,
+        boolean complete
+) {}
@@ -0,0 +1,17 @@
+package com.yupathbuilder.backend.schedule.dto;
+
+import com.yupathbuilder.backend.model.Section;
+
+import java.util.List;
+
+
+/**
+ * Service layer component: RankedSchedule.
+ *
+ * <p>One enumerated schedule together with its ranking score (lower is better).
+ */
+
+public record RankedSchedule(
+        double score,
+        List<Section> sections
+) {}
@@ -0,0 +1,20 @@
+package com.yupathbuilder.backend.schedule.dto;
+
+import com.yupathbuilder.backend.schedule.SearchStats;
+
+import java.util.List;
+
+
+/**
+ * Service layer component: ScheduleFailureResponse.
+ *
+ * <p>409 body when no schedule exists; {@code message} is what the UI shows. {@code conflictingCourses}
+ * is a minimal set of the requested courses that cannot be taken together (empty when unknown):
+ * dropping any one of them is what it takes to get a schedule for the rest.
+ */
+
+public record ScheduleFailureResponse(
+        String message,
+        SearchStats stats,
+        List<String> conflictingCourses
+) {}
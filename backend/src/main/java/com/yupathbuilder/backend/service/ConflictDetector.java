@@ -1,13 +1,20 @@
 package com.yupathbuilder.backend.service;
 
+import com.yupathbuilder.backend.index.SectionConflictMatrix;
 import com.yupathbuilder.backend.model.Conflict;
+import com.yupathbuilder.backend.model.MeetingPattern;
 import com.yupathbuilder.backend.model.Section;
 import com.yupathbuilder.backend.model.TimeSlot;
+import com.yupathbuilder.backend.repo.SectionRepository;
+import com.yupathbuilder.backend.schedule.WeekOccupancy;
 
-import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 
@@ -19,86 +26,190 @@ import java.util.Set;
 
 public class ConflictDetector {
 
+    private final SectionRepository sections; // optional: source of precomputed conflict matrices
+
+    public ConflictDetector() {
+        this(null);
+    }
+
+    public ConflictDetector(SectionRepository sections) {
+        this.sections = sections;
+    }
+
+    /**
+     * Every clash between {@code incoming} and the {@code existing} sections: one {@link Conflict} per
+     * shared day of each overlapping pair of meetings, with the overlapping window as {@code clashOn}.
+     * Catalog sections are checked with every meeting the catalog lists for them (lecture and lab),
+     * other sections with their primary meeting.
+     */
     public List<Conflict> detectConflicts(List<Section> existing, Section incoming) {
         List<Conflict> conflicts = new ArrayList<>();
         if (incoming == null || existing == null) return conflicts;
 
-        if (incoming.days() == null || incoming.startTime() == null || incoming.endTime() == null) return conflicts;
-
-        Set<TimeSlot.Day> incomingDays = parseDays(incoming.days());
+        // Catalog sections the matrix says are disjoint are skipped without comparing times.
+        SectionConflictMatrix matrix = matrix(incoming.term());
+        int incomingOrd = matrix == null ? -1 : matrix.ordinalOf(incoming);
+        MeetingPattern in = incomingOrd >= 0 ? matrix.meetings(incomingOrd) : incoming.meetings();
+        if (in.isEmpty()) return conflicts;
 
         for (Section ex : existing) {
             if (ex == null) continue;
-            if (ex.days() == null || ex.startTime() == null || ex.endTime() == null) continue;
-
-            Set<TimeSlot.Day> exDays = parseDays(ex.days());
-
-            for (TimeSlot.Day day : exDays) {
-                if (!incomingDays.contains(day)) continue;
-
-                if (overlaps(ex.startTime(), ex.endTime(), incoming.startTime(), incoming.endTime())) {
-                    LocalTime clashStart = max(ex.startTime(), incoming.startTime());
-                    LocalTime clashEnd = min(ex.endTime(), incoming.endTime());
+            int exOrd = matrix == null ? -1 : matrix.ordinalOf(ex);
+            if (incomingOrd >= 0 && exOrd >= 0 && !matrix.conflicts(exOrd, incomingOrd)) continue;
+            addClashes(ex, exOrd >= 0 ? matrix.meetings(exOrd) : ex.meetings(), incoming, in, conflicts);
+        }
 
-                    int startMin = toMinutes(clashStart);
-                    int endMin = toMinutes(clashEnd);
+        return conflicts;
+    }
 
-                    // ensure valid TimeSlot: endMin must be > startMin
-                    if (endMin > startMin) {
-                        TimeSlot clashOn = new TimeSlot(day, startMin, endMin);
-                        conflicts.add(new Conflict(ex, incoming, clashOn));
-                    }
+    /**
+     * Every clash within a whole set of sections (an imported plan, a term's catalog, ...), in
+     * O(n log n + k) for n meetings and k clashes instead of comparing every pair.
+     *
+     * <p>Meetings are split into one interval per day and swept in (day, start) order, keeping the
+     * intervals still running; each interval clashes with exactly the running ones from other
+     * sections. Reports one {@link Conflict} per clashing day and meeting pair, with the earlier
+     * section in {@code sections} as {@code existing}, ordered by day and clash start.
+     */
+    public List<Conflict> detectAllConflicts(List<Section> sections) {
+        List<Conflict> conflicts = new ArrayList<>();
+        if (sections == null) return conflicts;
+
+        Map<String, Optional<SectionConflictMatrix>> matrices = new HashMap<>();
+        List<int[]> intervals = new ArrayList<>(); // {day, start, end, section index}
+        for (int i = 0; i < sections.size(); i++) {
+            Section s = sections.get(i);
+            if (s == null) continue;
+            SectionConflictMatrix matrix = matrices.computeIfAbsent(s.term(), t -> Optional.ofNullable(matrix(t))).orElse(null);
+            int ord = matrix == null ? -1 : matrix.ordinalOf(s);
+            MeetingPattern p = ord >= 0 ? matrix.meetings(ord) : s.meetings();
+            for (int m = 0; m < p.size(); m++) {
+                for (int days = p.dayMask(m); days != 0; days &= days - 1) {
+                    intervals.add(new int[]{Integer.numberOfTrailingZeros(days), p.startMinute(m), p.endMinute(m), i});
                 }
             }
         }
-
+        intervals.sort((x, y) -> x[0] != y[0] ? Integer.compare(x[0], y[0]) : Integer.compare(x[1], y[1]));
+
+        List<int[]> running = new ArrayList<>();
+        int day = -1;
+        for (int[] iv : intervals) {
+            if (iv[0] != day) {
+                running.clear();
+                day = iv[0];
+            }
+            running.removeIf(r -> r[2] <= iv[1]); // ended before this one starts (touching is fine)
+            for (int[] r : running) {
+                if (r[3] == iv[3]) continue;
+                int first = Math.min(r[3], iv[3]), second = Math.max(r[3], iv[3]);
+                TimeSlot clash = new TimeSlot(TimeSlot.Day.values()[day], iv[1], Math.min(r[2], iv[2]));
+                conflicts.add(new Conflict(sections.get(first), sections.get(second), clash));
+            }
+            running.add(iv);
+        }
         return conflicts;
     }
 
-    private boolean overlaps(LocalTime aStart, LocalTime aEnd, LocalTime bStart, LocalTime bEnd) {
-        return aStart.isBefore(bEnd) && bStart.isBefore(aEnd);
-    }
-
-    private LocalTime max(LocalTime a, LocalTime b) {
-        return a.isAfter(b) ? a : b;
+    /**
+     * Which {@code candidates} could be added to {@code plan} without a clash: bit {@code i} of the
+     * result is set when {@code candidates.get(i)} fits. Sections already in the plan count as fitting.
+     *
+     * <p>The plan is compiled once, into the union of its catalog sections' conflict-matrix rows
+     * plus a {@link WeekOccupancy} for anything off-catalog, so each candidate costs one bit test
+     * (or a few word operations) and no {@link Conflict} is created.
+     */
+    public BitSet compatibility(List<Section> plan, List<Section> candidates) {
+        BitSet fits = new BitSet(candidates.size());
+        String term = candidates.isEmpty() ? null : candidates.get(0).term();
+        CompiledPlan compiled = new CompiledPlan(plan, matrix(term));
+        for (int i = 0; i < candidates.size(); i++) {
+            Section c = candidates.get(i);
+            if (c != null && compiled.fits(c)) fits.set(i);
+        }
+        return fits;
     }
 
-    private LocalTime min(LocalTime a, LocalTime b) {
-        return a.isBefore(b) ? a : b;
+    /**
+     * Same as {@link #compatibility(List, List)} for catalog candidates given as ordinals of {@code matrix}:
+     * bit {@code i} is set when the section at {@code candidates[i]} fits. Candidates are tested on the
+     * matrix and their meeting patterns alone, so no {@link Section} is created for them.
+     */
+    public BitSet compatibility(List<Section> plan, SectionConflictMatrix matrix, int[] candidates) {
+        BitSet fits = new BitSet(candidates.length);
+        CompiledPlan compiled = new CompiledPlan(plan, matrix);
+        for (int i = 0; i < candidates.length; i++) {
+            if (compiled.fits(candidates[i])) fits.set(i);
+        }
+        return fits;
     }
 
-    private int toMinutes(LocalTime t) {
-        return t.getHour() * 60 + t.getMinute();
+    /** The term's catalog conflict matrix, or {@code null} when there is none (or no repository). */
+    private SectionConflictMatrix matrix(String term) {
+        return sections == null || term == null ? null : sections.conflictMatrix(term).orElse(null);
     }
 
-    private Set<TimeSlot.Day> parseDays(String days) {
-        Set<TimeSlot.Day> out = new HashSet<>();
-        if (days == null) return out;
+    /**
+     * A plan as the union of its catalog sections' matrix rows plus the meetings of the rest. Catalog
+     * candidates are checked against those few off-catalog patterns directly, without compiling a footprint.
+     */
+    private static final class CompiledPlan {
+        private final SectionConflictMatrix matrix; // null -> every section is off-catalog
+        private final long[] planned;               // ordinals of the plan's catalog sections
+        private final long[] blocked;               // ordinals overlapping one of them
+        private final Set<Section> offCatalogPlanned = new HashSet<>();
+        private final List<MeetingPattern> offCatalog = new ArrayList<>();
+        private final WeekOccupancy everything = new WeekOccupancy();
+
+        CompiledPlan(List<Section> plan, SectionConflictMatrix matrix) {
+            this.matrix = matrix;
+            this.planned = matrix == null ? null : matrix.newBitset();
+            this.blocked = matrix == null ? null : matrix.newBitset();
+            for (Section p : plan) {
+                if (p == null) continue;
+                int ord = matrix == null ? -1 : matrix.ordinalOf(p);
+                if (ord >= 0) {
+                    planned[ord >>> 6] |= 1L << ord;
+                    matrix.addConflictsOf(ord, blocked);
+                    everything.place(WeekOccupancy.Footprint.of(matrix.meetings(ord)));
+                } else if (offCatalogPlanned.add(p)) {
+                    MeetingPattern meetings = p.meetings();
+                    if (!meetings.isEmpty()) offCatalog.add(meetings);
+                    everything.place(WeekOccupancy.Footprint.of(meetings));
+                }
+            }
+        }
 
-        // expected like "Mon,Wed" (your comment). Also handle "MON,WED" etc.
-        String[] parts = days.replace(" ", "").split(",");
+        /** Whether the catalog section at {@code ord} is in the plan or fits it. */
+        boolean fits(int ord) {
+            if ((planned[ord >>> 6] & (1L << ord)) != 0) return true;
+            if ((blocked[ord >>> 6] & (1L << ord)) != 0) return false;
+            if (offCatalog.isEmpty()) return true;
+            MeetingPattern meetings = matrix.meetings(ord);
+            for (MeetingPattern p : offCatalog) {
+                if (p.overlaps(meetings)) return false;
+            }
+            return true;
+        }
 
-        for (String p : parts) {
-            TimeSlot.Day d = toDay(p);
-            if (d != null) out.add(d);
+        boolean fits(Section c) {
+            int ord = matrix == null ? -1 : matrix.ordinalOf(c);
+            if (ord >= 0) return fits(ord);
+            return offCatalogPlanned.contains(c) || everything.fits(WeekOccupancy.Footprint.of(c));
         }
-        return out;
     }
 
-    private TimeSlot.Day toDay(String s) {
-        if (s == null) return null;
-        String x = s.trim().toUpperCase();
-
-        // accept Mon/Tue/... or MON/TUE/...
-        return switch (x) {
-            case "MON", "MONDAY" -> TimeSlot.Day.MON;
-            case "TUE", "TUES", "TUESDAY" -> TimeSlot.Day.TUE;
-            case "WED", "WEDNESDAY" -> TimeSlot.Day.WED;
-            case "THU", "THUR", "THURS", "THURSDAY" -> TimeSlot.Day.THU;
-            case "FRI", "FRIDAY" -> TimeSlot.Day.FRI;
-            case "SAT", "SATURDAY" -> TimeSlot.Day.SAT;
-            case "SUN", "SUNDAY" -> TimeSlot.Day.SUN;
-            default -> null;
-        };
+    private static void addClashes(Section a, MeetingPattern pa, Section b, MeetingPattern pb, List<Conflict> out) {
+        for (int i = 0; i < pa.size(); i++) {
+            for (int j = 0; j < pb.size(); j++) {
+                int shared = pa.dayMask(i) & pb.dayMask(j);
+                if (shared == 0) continue;
+                int start = Math.max(pa.startMinute(i), pb.startMinute(j));
+                int end = Math.min(pa.endMinute(i), pb.endMinute(j));
+                if (end <= start) continue; // touching edges are not a clash
+                for (TimeSlot.Day day : TimeSlot.Day.values()) {
+                    if ((shared & (1 << day.ordinal())) != 0) out.add(new Conflict(a, b, new TimeSlot(day, start, end)));
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,47 @@
+package com.yupathbuilder.backend.service;
+
+import com.yupathbuilder.backend.index.CourseFacetIndex;
+import com.yupathbuilder.backend.repo.CourseRepository;
+import com.yupathbuilder.backend.repo.SectionRepository;
+
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Service layer component: CourseFacetService.
+ *
+ * <p>Faceted course search: the text query of {@link CourseSearchService} combined with a
+ * {@link CourseFacetIndex.Filter}, paged like {@link CoursePage}, with facet counts. The index is the one
+ * the course repository builds with each catalog snapshot; text matches and index come from one pinned
+ * snapshot, so a reload never pairs them across versions.
+ */
+
+public class CourseFacetService {
+
+    private final CourseRepository courses;
+    private final SectionRepository sections;
+
+    public CourseFacetService(CourseRepository courses, SectionRepository sections) {
+        this.courses = courses;
+        this.sections = sections;
+    }
+
+    /** One page of matches, the total number of matches, and facet counts keyed by facet then value. */
+    public record FacetPage(CoursePage page, int total, Map<String, Map<String, Integer>> facets) {}
+
+    /** @throws IllegalArgumentException for a bad cursor or limit (see {@link CoursePage#of}) */
+    public FacetPage search(String q, CourseFacetIndex.Filter filter, String cursor, int limit) {
+        CourseFacetIndex.Filter f = filter == null ? CourseFacetIndex.Filter.NONE : filter;
+        boolean hasText = q != null && !q.isBlank();
+        CourseRepository catalog = courses.snapshot().orElse(courses);
+        // repositories without an index (e.g. test doubles) get a throwaway one
+        CourseFacetIndex index = catalog.facetIndex()
+                .orElseGet(() -> CourseFacetIndex.build(catalog.findAll(), sections.findAll()));
+        CourseFacetIndex.Result result = index.query(f, hasText ? new CourseSearchService(catalog).search(q) : null);
+
+        String scope = (hasText ? q.trim().toLowerCase(Locale.ROOT) : "") + "|" + f.key();
+        CoursePage page = CoursePage.of(result.courses(), scope, cursor, limit);
+        return new FacetPage(page, result.courses().size(), result.facets());
+    }
+}
@@ -0,0 +1,113 @@
+package com.yupathbuilder.backend.service;
+
+import com.yupathbuilder.backend.model.Course;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * Service layer component: CoursePage.
+ *
+ * <p>One page of a course listing ordered by {@link Course#normalizedCode()}, plus an opaque cursor
+ * for the next page ({@code null} on the last page). The order is established here, so a listing in any
+ * order pages the same way; courses sharing a code keep their listing order. The cursor records the last code returned (and how
+ * many courses sharing that code were returned), not a position, so it stays valid across a catalog
+ * reload: the next page simply starts after that code in whatever the catalog holds then. A cursor is
+ * bound to the listing that issued it (e.g. the search query); using it elsewhere, or tampering with
+ * it, fails with {@link IllegalArgumentException}.
+ */
+
+public record CoursePage(
+        List<Course> items,
+        String nextCursor
+) {
+    public static final int MAX_LIMIT = 500;
+    private static final String VERSION = "c1";
+    private static final char SEP = '\u0000';
+
+    /**
+     * Page of {@code courses}, in normalized-code order, starting after {@code cursor} ({@code null} for the
+     * first page). {@code scope} identifies the listing. A listing already in that order (as the catalog
+     * repositories return it) is only checked, in one pass; any other is sorted first.
+     */
+    public static CoursePage of(List<Course> courses, String scope, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        List<Course> sorted = sorted(courses);
+
+        int from = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            Position after = decode(cursor, scope);
+            from = firstAtOrAfter(sorted, after.code());
+            int skip = after.seen();
+            while (skip > 0 && from < sorted.size() && code(sorted.get(from)).equals(after.code())) {
+                from++;
+                skip--;
+            }
+        }
+
+        int to = Math.min(sorted.size(), from + limit);
+        List<Course> items = List.copyOf(sorted.subList(from, to));
+        if (to >= sorted.size() || items.isEmpty()) return new CoursePage(items, null);
+
+        String last = code(items.get(items.size() - 1));
+        int seen = 0;
+        for (int i = to - 1; i >= 0 && code(sorted.get(i)).equals(last); i--) seen++;
+        return new CoursePage(items, encode(scope, last, seen));
+    }
+
+    private record Position(String code, int seen) {}
+
+    /** {@code courses} itself when already in code order, else a stably sorted copy. */
+    private static List<Course> sorted(List<Course> courses) {
+        for (int i = 1; i < courses.size(); i++) {
+            if (code(courses.get(i - 1)).compareTo(code(courses.get(i))) > 0) {
+                List<Course> copy = new ArrayList<>(courses);
+                copy.sort(Comparator.comparing(CoursePage::code));
+                return copy;
+            }
+        }
+        return courses;
+    }
+
+    private static int firstAtOrAfter(List<Course> sorted, String code) {
+        int lo = 0, hi = sorted.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (code(sorted.get(mid)).compareTo(code) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static String code(Course c) {
+        return c == null ? "" : c.normalizedCode();
+    }
+
+    private static String encode(String scope, String code, int seen) {
+        String raw = VERSION + SEP + scope + SEP + code + SEP + seen;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor, String scope) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        String[] parts = raw.split(String.valueOf(SEP), -1);
+        if (parts.length != 4 || !parts[0].equals(VERSION)) throw new IllegalArgumentException("Malformed cursor");
+        if (!parts[1].equals(scope)) throw new IllegalArgumentException("Cursor belongs to a different query");
+        try {
+            int seen = Integer.parseInt(parts[3]);
+            if (seen < 1) throw new NumberFormatException();
+            return new Position(parts[2], seen);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+}
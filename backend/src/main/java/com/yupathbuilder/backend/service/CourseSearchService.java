@@ -1,10 +1,12 @@
 package com.yupathbuilder.backend.service;
 
+import com.yupathbuilder.backend.index.CourseTextIndex;
 import com.yupathbuilder.backend.model.Course;
 import com.yupathbuilder.backend.repo.CourseRepository;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 
@@ -16,16 +18,25 @@ import java.util.stream.Collectors;
 
 public class CourseSearchService {
 
+    public static final int MAX_FUZZY_RESULTS = 100;
+
     private final CourseRepository repo;
 
     public CourseSearchService(CourseRepository repo) {
         this.repo = repo;
     }
 
+    /**
+     * Courses whose code or title contains {@code q} (case-insensitive), in catalog order.
+     * Served from the repository's {@link CourseTextIndex} when it has one.
+     */
     public List<Course> search(String q) {
         if (q == null || q.trim().isEmpty()) return repo.findAll();
         String query = q.trim().toLowerCase(Locale.ROOT);
 
+        Optional<CourseTextIndex> index = repo.textIndex();
+        if (index.isPresent()) return index.get().search(query);
+
         return repo.findAll().stream()
                 .filter(c -> c != null && (
                         safe(c.courseCode()).toLowerCase(Locale.ROOT).contains(query) ||
@@ -34,5 +45,37 @@ public class CourseSearchService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of {@link #search} results; see {@link CoursePage} for the cursor contract.
+     * A cursor only continues the query (trimmed, case-insensitive) that produced it.
+     */
+    public CoursePage searchPage(String q, String cursor, int limit) {
+        String scope = q == null ? "" : q.trim().toLowerCase(Locale.ROOT);
+        return CoursePage.of(search(q), scope, cursor, limit);
+    }
+
+    /**
+     * Typo-tolerant search ranked by edit distance (see {@link CourseTextIndex#fuzzy}); returns at most
+     * {@code limit} matches, clamped to 1..{@value #MAX_FUZZY_RESULTS}. A blank query matches nothing.
+     */
+    public List<CourseTextIndex.Match> fuzzy(String q, int limit) {
+        if (q == null || q.trim().isEmpty()) return List.of();
+        int n = Math.max(1, Math.min(limit, MAX_FUZZY_RESULTS));
+        // repositories without an index (e.g. test doubles) get a throwaway one
+        CourseTextIndex index = repo.textIndex().orElseGet(() -> CourseTextIndex.build(repo.findAll()));
+        return index.fuzzy(q, n);
+    }
+
+    /**
+     * Prefix completions for a search box (see {@link CourseTextIndex#complete}); {@code limit} is
+     * clamped to 1..{@value CourseTextIndex#SUGGESTIONS}.
+     */
+    public List<Course> autocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) return List.of();
+        int n = Math.max(1, Math.min(limit, CourseTextIndex.SUGGESTIONS));
+        CourseTextIndex index = repo.textIndex().orElseGet(() -> CourseTextIndex.build(repo.findAll()));
+        return index.complete(prefix, n);
+    }
+
     private String safe(String s) { return s == null ? "" : s; }
 }
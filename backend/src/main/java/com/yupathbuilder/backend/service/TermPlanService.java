@@ -1,11 +1,18 @@
 package com.yupathbuilder.backend.service;
 
+import com.yupathbuilder.backend.index.CourseSectionIndex;
+import com.yupathbuilder.backend.index.SectionConflictMatrix;
 import com.yupathbuilder.backend.model.Conflict;
 import com.yupathbuilder.backend.model.Section;
 import com.yupathbuilder.backend.model.Term;
 import com.yupathbuilder.backend.model.TermPlan;
+import com.yupathbuilder.backend.repo.SectionRepository;
 import com.yupathbuilder.backend.repo.TermPlanRepository;
+import com.yupathbuilder.backend.schedule.RepairResult;
+import com.yupathbuilder.backend.schedule.ScheduleService;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,10 +27,15 @@ public class TermPlanService {
 
     private final TermPlanRepository repo;
     private final ConflictDetector conflictDetector;
+    private final ScheduleService scheduleService;
+    private final SectionRepository sections;
 
-    public TermPlanService(TermPlanRepository repo, ConflictDetector conflictDetector) {
+    public TermPlanService(TermPlanRepository repo, ConflictDetector conflictDetector, ScheduleService scheduleService,
+                           SectionRepository sections) {
         this.repo = repo;
         this.conflictDetector = conflictDetector;
+        this.scheduleService = scheduleService;
+        this.sections = sections;
     }
 
     public TermPlan createPlan(String name, Term term) {
@@ -46,6 +58,93 @@ public class TermPlanService {
         return conflicts;
     }
 
+    /**
+     * Adds some section of {@code courseCode} to the plan, swapping as few already selected sections
+     * as needed (see {@link ScheduleService#repair}). The plan is only changed and saved when a repair
+     * was found.
+     */
+    public RepairResult addCourse(TermPlan plan, String courseCode) {
+        RepairResult result = scheduleService.repair(termCode(plan), plan.getSelectedSections(), courseCode);
+        if (result.found()) {
+            plan.setSelectedSections(new ArrayList<>(result.sections()));
+            repo.save(plan);
+        }
+        return result;
+    }
+
+    /**
+     * Which candidate sections fit the plan: bit {@code i} of {@code fits} is set when section
+     * {@code sectionIds.get(i)} could be added without a clash. {@code term} is the catalog's spelling
+     * of the term, or the requested one when there are no candidates.
+     */
+    public record Compatibility(String term, List<String> sectionIds, BitSet fits) {}
+
+    /**
+     * Checks the sections of {@code courseCodes} in the term when given, otherwise the whole term, against
+     * the plan (see {@link ConflictDetector#compatibility}). A blank {@code term} means the plan's own term.
+     * When the repository keeps the term's conflict matrix, candidates are its ordinals and only their ids
+     * are read; otherwise they are looked up as sections.
+     */
+    public Compatibility compatibility(TermPlan plan, String term, List<String> courseCodes) {
+        String t = term == null || term.isBlank() ? termCode(plan) : term;
+        boolean wholeTerm = courseCodes == null || courseCodes.isEmpty();
+        SectionRepository catalog = sections.snapshot().orElse(sections); // one version for every lookup
+        SectionConflictMatrix matrix = CourseSectionIndex.termKey(t).isEmpty() ? null : catalog.conflictMatrix(t).orElse(null);
+
+        if (matrix != null) {
+            int[] ordinals;
+            if (wholeTerm) {
+                ordinals = new int[matrix.size()];
+                for (int i = 0; i < ordinals.length; i++) ordinals[i] = i;
+            } else {
+                List<int[]> perCourse = new ArrayList<>();
+                int total = 0;
+                for (String code : courseCodes) {
+                    if (code == null) continue;
+                    perCourse.add(matrix.courseOrdinals(code));
+                    total += perCourse.get(perCourse.size() - 1).length;
+                }
+                ordinals = new int[total];
+                int at = 0;
+                for (int[] block : perCourse) {
+                    System.arraycopy(block, 0, ordinals, at, block.length);
+                    at += block.length;
+                }
+            }
+            List<String> ids = new ArrayList<>(ordinals.length);
+            for (int ord : ordinals) ids.add(matrix.sectionId(ord));
+            BitSet fits = conflictDetector.compatibility(plan.getSelectedSections(), matrix, ordinals);
+            return new Compatibility(ordinals.length == 0 ? term : matrix.term(ordinals[0]), ids, fits);
+        }
+
+        List<Section> candidates = new ArrayList<>();
+        if (wholeTerm) {
+            candidates.addAll(catalog.findByTerm(t));
+        } else {
+            for (String code : courseCodes) {
+                if (code != null) candidates.addAll(catalog.findByNormalizedCourseCodeAndTerm(code, t));
+            }
+        }
+        BitSet fits = conflictDetector.compatibility(plan.getSelectedSections(), candidates);
+        List<String> ids = candidates.stream().map(Section::sectionId).toList();
+        return new Compatibility(candidates.isEmpty() ? term : candidates.get(0).term(), ids, fits);
+    }
+
+    /** Catalog term code ("W2026") of the plan: taken from its sections, else from its {@link Term}. */
+    private static String termCode(TermPlan plan) {
+        for (Section s : plan.getSelectedSections()) {
+            if (s != null && s.term() != null) return s.term();
+        }
+        Term t = plan.getTerm();
+        if (t == null || t.getSeason() == null) return "";
+        return t.getSeason().name().charAt(0) + String.valueOf(t.getYear());
+    }
+
+    /** Every clash among the plan's selected sections (e.g. after importing a plan wholesale). */
+    public List<Conflict> validate(TermPlan plan) {
+        return conflictDetector.detectAllConflicts(plan.getSelectedSections());
+    }
+
     public boolean removeSection(TermPlan plan, String sectionKey) {
         if (sectionKey == null) return false;
         boolean removed = plan.getSelectedSections().removeIf(s -> s != null && sectionKey.equals(s.sectionId()));
@@ -2,6 +2,7 @@ package com.yupathbuilder.backend.controller;
 
 import com.yupathbuilder.backend.repo.CourseRepository;
 import com.yupathbuilder.backend.repo.SectionRepository;
+import com.yupathbuilder.backend.schedule.ScheduleService;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.ResponseEntity;
 
@@ -23,7 +24,7 @@ class AdminControllerUnitTest {
         CourseRepository courseRepo = mock(CourseRepository.class);
         SectionRepository sectionRepo = mock(SectionRepository.class);
 
-        AdminController controller = new AdminController(courseRepo, sectionRepo);
+        AdminController controller = new AdminController(courseRepo, sectionRepo, mock(ScheduleService.class));
 
         // Act: IMPORTANT -> your controller method is named reload(), not reloadData().
         ResponseEntity<?> response = controller.reload();
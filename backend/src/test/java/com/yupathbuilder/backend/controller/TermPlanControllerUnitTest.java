@@ -0,0 +1,45 @@
+package com.yupathbuilder.backend.controller;
+
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.model.Term;
+import com.yupathbuilder.backend.model.TermPlan;
+import com.yupathbuilder.backend.service.TermPlanService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pure JUnit test for TermPlanController (no Spring context, no MockMvc).
+ */
+class TermPlanControllerUnitTest {
+
+    @Test
+    void addSection_rejectsTimedSectionWithUnknownDays() {
+        TermPlanService service = mock(TermPlanService.class);
+        TermPlanController controller = new TermPlanController(service);
+        TermPlanController.AddSectionRequest req = new TermPlanController.AddSectionRequest();
+        req.section = new Section("X", "EECS2030", "W2026", "TBD", "TTh", LocalTime.of(10, 0), LocalTime.of(11, 0), "", 0);
+
+        assertEquals(400, controller.addSection("p1", req).getStatusCode().value());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void addSection_acceptsUntimedSectionWhateverItsDays() {
+        TermPlanService service = mock(TermPlanService.class);
+        TermPlanController controller = new TermPlanController(service);
+        TermPlan plan = new TermPlan("Main Plan", new Term(Term.Season.WINTER, 2026));
+        TermPlanController.AddSectionRequest req = new TermPlanController.AddSectionRequest();
+        req.section = new Section("X", "EECS2030", "W2026", "TBD", "TBA", null, null, "", 0);
+        when(service.getPlan("p1")).thenReturn(Optional.of(plan));
+        when(service.tryAddSection(plan, req.section)).thenReturn(List.of());
+
+        assertEquals(200, controller.addSection("p1", req).getStatusCode().value());
+        verify(service).tryAddSection(plan, req.section);
+    }
+}
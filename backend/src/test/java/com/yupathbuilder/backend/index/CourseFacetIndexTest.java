@@ -0,0 +1,164 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.Course;
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.model.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseFacetIndexTest {
+
+    private static final String[] DEPTS = {"EECS", "MATH", "PHYS", " eecs "};
+    private static final double[] CREDITS = {3.0, 4.0, 6.0};
+    private static final String[] TERMS = {"W2026", "F2025", "S2026"};
+    private static final String[] DAYS = {"MW", "TR", "F", "MWF", "S", ""};
+
+    /** A section with every meeting the catalog lists for it. */
+    private record Row(Section section, MeetingPattern meetings) {}
+
+    @Test
+    void filtersAndCountsMatchBruteForce() {
+        Random r = new Random(7);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            courses.add(new Course("C" + (1000 + i), "t" + i, CREDITS[r.nextInt(CREDITS.length)],
+                    DEPTS[r.nextInt(DEPTS.length)], ""));
+        }
+        List<Section> sections = new ArrayList<>();
+        List<MeetingPattern> meetings = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            String code = i % 30 == 0 ? "ORPHAN1" : "c " + (1000 + r.nextInt(40));
+            int start = 8 + r.nextInt(10);
+            Section s = new Section("S" + i, code, TERMS[r.nextInt(TERMS.length)], "TBD", DAYS[r.nextInt(DAYS.length)],
+                    LocalTime.of(start, 0), LocalTime.of(start + 1, 30), "R", 50);
+            MeetingPattern p = s.meetings();
+            if (r.nextInt(5) == 0) p = p.plus("F", LocalTime.of(start + 2, 0), LocalTime.of(start + 3, 0));
+            sections.add(s);
+            meetings.add(p);
+        }
+        CourseFacetIndex index = CourseFacetIndex.build(courses, SectionColumns.of(sections, meetings));
+        Map<String, List<Row>> byCourse = new HashMap<>();
+        for (int i = 0; i < sections.size(); i++) {
+            Section s = sections.get(i);
+            byCourse.computeIfAbsent(s.normalizedCourseCode(), k -> new ArrayList<>()).add(new Row(s, meetings.get(i)));
+        }
+
+        for (int q = 0; q < 40; q++) {
+            CourseFacetIndex.Filter f = new CourseFacetIndex.Filter(
+                    r.nextBoolean() ? Set.of() : Set.of(DEPTS[r.nextInt(DEPTS.length)], "NONE"),
+                    r.nextBoolean() ? Set.of() : Set.of(CREDITS[r.nextInt(CREDITS.length)]),
+                    r.nextBoolean() ? Set.of() : Set.of(TERMS[r.nextInt(TERMS.length)].toLowerCase()),
+                    r.nextBoolean() ? 0 : TimeSlot.Day.mask(DAYS[r.nextInt(DAYS.length - 1)]),
+                    r.nextBoolean() ? null : (8 + r.nextInt(12)) * 60 + 15 * r.nextInt(4),
+                    r.nextBoolean() ? null : (9 + r.nextInt(12)) * 60 + 15 * r.nextInt(4));
+            List<Course> text = r.nextBoolean() ? null : courses.subList(r.nextInt(15), 25 + r.nextInt(15));
+
+            CourseFacetIndex.Result result = index.query(f, text);
+            assertEquals(bruteForce(courses, byCourse, f, text), result.courses(), f.key());
+            assertEquals(expectedCounts(courses, byCourse, f, text), result.facets(), f.key());
+        }
+    }
+
+    @Test
+    void untimedSectionsPassDayFiltersButNotTimeWindows() {
+        Course online = new Course("EECS1001", "Online", 1.0, "EECS", "");
+        Section tbd = new Section("X", "EECS1001", "W2026", "TBD", "", null, null, "", 0);
+        CourseFacetIndex index = CourseFacetIndex.build(List.of(online), List.of(tbd));
+
+        CourseFacetIndex.Filter mwOnly = new CourseFacetIndex.Filter(Set.of(), Set.of(), Set.of("W2026"),
+                TimeSlot.Day.mask("MW"), null, null);
+        assertEquals(List.of(online), index.query(mwOnly, null).courses());
+        CourseFacetIndex.Filter morning = new CourseFacetIndex.Filter(null, null, null, 0, 9 * 60, null);
+        assertEquals(List.of(), index.query(morning, null).courses());
+        assertEquals(Map.of("W2026", 1), index.query(CourseFacetIndex.Filter.NONE, null).facets().get(CourseFacetIndex.TERM));
+    }
+
+    /** Courses passing {@code f}, checked section by section ({@code byCourse}: sections by normalized code). */
+    private static List<Course> bruteForce(List<Course> courses, Map<String, List<Row>> byCourse, CourseFacetIndex.Filter f,
+                                           List<Course> text) {
+        List<Course> out = new ArrayList<>();
+        for (Course c : courses) {
+            if (text != null && !text.contains(c)) continue;
+            if (!f.departments().isEmpty() && !f.departments().contains(CourseFacetIndex.departmentKey(c.department()))) continue;
+            if (!f.credits().isEmpty() && !f.credits().contains(c.credits())) continue;
+            boolean sectionFilter = !f.terms().isEmpty() || (f.days() != 0 && f.days() != 127)
+                    || f.startsAfter() != null || f.endsBefore() != null;
+            if (sectionFilter && sections(byCourse, c).stream().noneMatch(row -> passes(c, row, f))) continue;
+            out.add(c);
+        }
+        return out;
+    }
+
+    private static boolean passes(Course c, Row row, CourseFacetIndex.Filter f) {
+        Section s = row.section();
+        if (!s.normalizedCourseCode().equals(c.normalizedCode())) return false;
+        if (!f.terms().isEmpty() && !f.terms().contains(CourseSectionIndex.termKey(s.term()))) return false;
+        MeetingPattern p = row.meetings();
+        if (f.days() != 0 && (p.dayMask() & ~f.days()) != 0) return false;
+        if (f.startsAfter() == null && f.endsBefore() == null) return true;
+        if (p.isEmpty()) return false;
+        int latest = 0;
+        for (int i = 0; i < p.size(); i++) latest = Math.max(latest, p.endMinute(i));
+        return (f.startsAfter() == null || p.earliestStart() >= f.startsAfter())
+                && (f.endsBefore() == null || latest <= f.endsBefore());
+    }
+
+    private static List<Row> sections(Map<String, List<Row>> byCourse, Course c) {
+        return byCourse.getOrDefault(c.normalizedCode(), List.of());
+    }
+
+    private static Map<String, Map<String, Integer>> expectedCounts(List<Course> courses, Map<String, List<Row>> byCourse,
+                                                                    CourseFacetIndex.Filter f, List<Course> text) {
+        Map<String, Map<String, Integer>> out = new LinkedHashMap<>();
+        Map<String, Integer> depts = new TreeMap<>();
+        for (String d : List.of("EECS", "MATH", "PHYS")) {
+            put(depts, d, bruteForce(courses, byCourse, with(f, Set.of(d), null, null, -1), text).size());
+        }
+        out.put(CourseFacetIndex.DEPARTMENT, depts);
+        Map<String, Integer> credits = new TreeMap<>();
+        for (double c : CREDITS) {
+            put(credits, String.valueOf(c), bruteForce(courses, byCourse, with(f, null, Set.of(c), null, -1), text).size());
+        }
+        out.put(CourseFacetIndex.CREDITS, credits);
+        Map<String, Integer> terms = new TreeMap<>();
+        for (String t : TERMS) {
+            put(terms, t, bruteForce(courses, byCourse, with(f, null, null, Set.of(t), -1), text).size());
+        }
+        out.put(CourseFacetIndex.TERM, terms);
+        Map<String, Integer> days = new LinkedHashMap<>();
+        for (TimeSlot.Day d : TimeSlot.Day.values()) {
+            // courses with a section meeting on d that passes every other filter
+            CourseFacetIndex.Filter anyDay = with(f, null, null, null, 0);
+            long n = courses.stream()
+                    .filter(c -> bruteForce(List.of(c), byCourse, anyDay, text).size() == 1)
+                    .filter(c -> sections(byCourse, c).stream().anyMatch(row -> passes(c, row, anyDay)
+                            && (row.meetings().dayMask() & (1 << d.ordinal())) != 0))
+                    .count();
+            put(days, d.name(), (int) n);
+        }
+        out.put(CourseFacetIndex.DAYS, days);
+        return out;
+    }
+
+    private static CourseFacetIndex.Filter with(CourseFacetIndex.Filter f, Set<String> depts, Set<Double> credits,
+                                                Set<String> terms, int days) {
+        return new CourseFacetIndex.Filter(depts != null ? depts : f.departments(), credits != null ? credits : f.credits(),
+                terms != null ? terms : f.terms(), days >= 0 ? days : f.days(), f.startsAfter(), f.endsBefore());
+    }
+
+    private static void put(Map<String, Integer> counts, String key, int n) {
+        if (n > 0) counts.put(key, n);
+    }
+}
@@ -0,0 +1,61 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.Section;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseSectionIndexTest {
+
+    private static Section section(String id, String code, String term) {
+        return new Section(id, code, term, "TBD", "MW",
+                LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+    }
+
+    @Test
+    void groupsByNormalizedCodeAndTermSortedBySectionId() {
+        Section b = section("EECS2030-B", "EECS 2030", "W2026");
+        Section a = section("EECS2030-A", "eecs2030", "w2026 ");
+        Section f = section("EECS2030-F", "EECS2030", "F2025");
+        Section other = section("EECS2001-A", "EECS2001", "W2026");
+
+        CourseSectionIndex index = CourseSectionIndex.build(List.of(b, a, f, other));
+
+        assertEquals(List.of(a, b), index.find("EECS2030", "W2026"));
+        assertEquals(List.of(a, b), index.find(" eecs 2030", "w2026"));
+        assertEquals(List.of(a, b, f), index.find("EECS2030", " "));
+        assertEquals(List.of(a, b, f), index.find("EECS2030", null));
+        assertEquals(List.of(), index.find("EECS2030", "S2026"));
+        assertEquals(List.of(), index.find("EECS9999", "W2026"));
+        assertThrows(UnsupportedOperationException.class, () -> index.find("EECS2030", "W2026").add(f));
+    }
+
+    @Test
+    void searchOrderPutsEarlierStartsFirstAndUntimedLast() {
+        Section late = new Section("A", "EECS2030", "W2026", "TBD", "MW", LocalTime.of(14, 0), LocalTime.of(15, 0), "", 0);
+        Section untimed = new Section("B", "EECS2030", "W2026", "TBD", "", null, null, "", 0);
+        Section early = new Section("C", "EECS2030", "W2026", "TBD", "TR", LocalTime.of(9, 0), LocalTime.of(10, 0), "", 0);
+        Section earlyToo = new Section("D", "EECS2030", "W2026", "TBD", "MW", LocalTime.of(9, 0), LocalTime.of(10, 0), "", 0);
+        List<Section> all = List.of(untimed, earlyToo, late, early);
+
+        CourseSectionIndex index = CourseSectionIndex.build(all);
+
+        List<Section> ordered = index.findInSearchOrder("EECS2030", "W2026");
+        assertEquals(List.of(early, earlyToo, late, untimed), ordered);
+        assertEquals(all.stream().sorted(CourseSectionIndex.SEARCH_ORDER).toList(), ordered);
+        assertSame(ordered, index.findInSearchOrder("eecs 2030", "w2026"));
+        assertEquals(List.of(late, untimed, early, earlyToo), index.find("EECS2030", "W2026"));
+        assertEquals(List.of(), index.findInSearchOrder("EECS2030", "F2025"));
+    }
+
+    @Test
+    void normalizeCodeMatchesSectionNormalization() {
+        String plain = "EECS2030";
+        assertSame(plain, CourseSectionIndex.normalizeCode(plain));
+        assertEquals(section("x", " eecs\t2030 ", "W").normalizedCourseCode(), CourseSectionIndex.normalizeCode(" eecs\t2030 "));
+        assertEquals("", CourseSectionIndex.normalizeCode(null));
+    }
+}
@@ -0,0 +1,141 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseTextIndexTest {
+
+    private static final List<Course> CATALOG = List.of(
+            new Course("EECS1001", "Research Directions in Computing", 1.0, "EECS", ""),
+            new Course("EECS2030", "Advanced Object Oriented Programming", 3.0, "EECS", "EECS1022"),
+            new Course("EECS3101", "Design and Analysis of Algorithms", 3.0, "EECS", "EECS2030"),
+            new Course("MATH1090", "Introduction to Logic for Computer Science", 3.0, "MATH", ""),
+            new Course("MATH2030", "Elementary Probability", 3.0, "MATH", null),
+            new Course("ENG 1101", null, 3.0, "ENG", ""));
+
+    private static List<Course> scan(String q) {
+        String query = q.trim().toLowerCase(Locale.ROOT);
+        return CATALOG.stream()
+                .filter(c -> c.courseCode().toLowerCase(Locale.ROOT).contains(query)
+                        || (c.title() != null && c.title().toLowerCase(Locale.ROOT).contains(query)))
+                .toList();
+    }
+
+    @Test
+    void searchMatchesSubstringScan() {
+        CourseTextIndex index = CourseTextIndex.build(CATALOG);
+        for (String q : List.of("e", "G", "20", "eng", "2030", "computing", " Math1 ", "g 1", "ion to lo",
+                "algorithms", "2030 adv", "zzz", "xyzw")) {
+            assertEquals(scan(q), index.search(q), q);
+        }
+    }
+
+    @Test
+    void intersectKeepsCommonOrdinalsInOrder() {
+        assertArrayEquals(new int[]{2, 7}, CourseTextIndex.intersect(new int[]{1, 2, 5, 7}, new int[]{0, 2, 3, 7, 9}));
+        assertArrayEquals(new int[0], CourseTextIndex.intersect(new int[]{1, 3}, new int[]{2, 4}));
+    }
+
+    @Test
+    void fuzzyToleratesTyposAndRanksByDistance() {
+        CourseTextIndex index = CourseTextIndex.build(CATALOG);
+
+        List<CourseTextIndex.Match> algorithms = index.fuzzy("algoritms", 10);
+        assertEquals(List.of(new CourseTextIndex.Match(CATALOG.get(2), 1)), algorithms);
+
+        assertEquals(CATALOG.get(1), index.fuzzy("EECS2O30", 10).get(0).course());
+        assertEquals(CATALOG.get(1), index.fuzzy("eecs 2O30", 10).get(0).course());
+
+        // exact substring hits first, then near misses; every word must match
+        List<CourseTextIndex.Match> prob = index.fuzzy("probabilty elementary", 10);
+        assertEquals(List.of(new CourseTextIndex.Match(CATALOG.get(4), 1)), prob);
+        List<CourseTextIndex.Match> mathHits = index.fuzzy("math2030", 10);
+        assertEquals(new CourseTextIndex.Match(CATALOG.get(4), 0), mathHits.get(0));
+        assertEquals(List.of(new CourseTextIndex.Match(CATALOG.get(3), 2)), mathHits.subList(1, mathHits.size()));
+
+        assertEquals(List.of(), index.fuzzy("quantum", 10));
+        assertEquals(1, index.fuzzy("2030", 1).size());
+    }
+
+    @Test
+    void trieWalkFindsExactlyTheTermsWithinTheBound() {
+        CourseTextIndex index = CourseTextIndex.build(CATALOG);
+        for (String word : List.of("directons", "logc", "eecs2031", "programing", "introduktion", "sci")) {
+            int max = CourseTextIndex.maxEdits(word);
+            List<Course> expected = CATALOG.stream()
+                    .filter(c -> terms(c).stream().anyMatch(t -> levenshtein(word, t) <= max)
+                            || c.courseCode().toLowerCase(Locale.ROOT).contains(word)
+                            || (c.title() != null && c.title().toLowerCase(Locale.ROOT).contains(word)))
+                    .toList();
+            List<Course> actual = index.fuzzy(word, 100).stream().map(CourseTextIndex.Match::course)
+                    .sorted((a, b) -> Integer.compare(CATALOG.indexOf(a), CATALOG.indexOf(b)))
+                    .toList();
+            assertEquals(expected, actual, word);
+        }
+    }
+
+    @Test
+    void completeReturnsTopPrefixMatchesCodesFirst() {
+        CourseTextIndex index = CourseTextIndex.build(CATALOG);
+
+        assertEquals(List.of(CATALOG.get(1)), index.complete("EECS 20", 10));
+        // "eecs" codes first, in catalog order
+        assertEquals(CATALOG.subList(0, 3), index.complete("eecs", 10));
+        // the code prefix "e..." wins over the title words "elementary" and "eng..."
+        assertEquals(List.of(CATALOG.get(0), CATALOG.get(1), CATALOG.get(2), CATALOG.get(5), CATALOG.get(4)),
+                index.complete("e", 10));
+        assertEquals(CATALOG.subList(0, 2), index.complete("e", 2));
+        assertEquals(List.of(CATALOG.get(2)), index.complete("an", 10));
+        assertEquals(List.of(), index.complete("zz", 10));
+        assertEquals(List.of(), index.complete(" ", 10));
+    }
+
+    @Test
+    void precomputedCompletionsMatchBruteForceOnLargeCatalog() {
+        List<Course> catalog = new ArrayList<>();
+        String[] words = {"data", "database", "design", "digital", "discrete", "algebra", "algorithms", "analysis"};
+        for (int i = 0; i < 300; i++) {
+            String code = (i % 3 == 0 ? "DATA" : i % 3 == 1 ? "DIGI" : "ALGO") + (1000 + i);
+            catalog.add(new Course(code, words[i % words.length] + " " + words[(i * 7) % words.length], 3.0, "X", ""));
+        }
+        CourseTextIndex index = CourseTextIndex.build(catalog);
+        for (String prefix : List.of("d", "da", "data", "data10", "di", "a", "al", "alg", "algo1", "an", "dis")) {
+            List<Course> codeHits = catalog.stream()
+                    .filter(c -> c.courseCode().toLowerCase(Locale.ROOT).startsWith(prefix)).toList();
+            List<Course> titleHits = catalog.stream()
+                    .filter(c -> !codeHits.contains(c))
+                    .filter(c -> CourseTextIndex.words(c.title()).stream().anyMatch(w -> w.startsWith(prefix))).toList();
+            List<Course> expected = new ArrayList<>(codeHits);
+            expected.addAll(titleHits);
+            assertEquals(expected.subList(0, Math.min(CourseTextIndex.SUGGESTIONS, expected.size())),
+                    index.complete(prefix, 100), prefix);
+        }
+    }
+
+    private static List<String> terms(Course c) {
+        List<String> out = new ArrayList<>(CourseTextIndex.words(CourseTextIndex.lower(c.title())));
+        out.add(CourseTextIndex.lower(c.courseCode()).replaceAll("\\s+", ""));
+        return out;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] prev = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            int[] row = new int[b.length() + 1];
+            row[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                row[j] = Math.min(prev[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1),
+                        Math.min(row[j - 1], prev[j]) + 1);
+            }
+            prev = row;
+        }
+        return prev[b.length()];
+    }
+}
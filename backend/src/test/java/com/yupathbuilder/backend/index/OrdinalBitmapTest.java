@@ -0,0 +1,84 @@
+package com.yupathbuilder.backend.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrdinalBitmapTest {
+
+    private static OrdinalBitmap of(BitSet bits) {
+        OrdinalBitmap.Builder b = new OrdinalBitmap.Builder();
+        bits.stream().forEach(b::add);
+        return b.build();
+    }
+
+    private static long[] dense(BitSet bits, int universe) {
+        long[] out = new long[OrdinalBitmap.words(universe)];
+        bits.stream().forEach(i -> out[i >>> 6] |= 1L << i);
+        return out;
+    }
+
+    @Test
+    void everyContainerAgreesWithBitSet() {
+        Random r = new Random(11);
+        int universe = 1000;
+        for (int t = 0; t < 60; t++) {
+            BitSet bits = new BitSet();
+            switch (t % 3) {
+                case 0 -> { for (int k = 0; k < 5; k++) bits.set(r.nextInt(universe)); }       // sparse
+                case 1 -> { int s = r.nextInt(500); bits.set(s, s + 1 + r.nextInt(400)); }   // one run
+                default -> { for (int i = 0; i < universe; i++) if (r.nextBoolean()) bits.set(i); } // dense
+            }
+            BitSet other = new BitSet();
+            for (int i = 0; i < universe; i++) if (r.nextInt(3) == 0) other.set(i);
+            OrdinalBitmap bitmap = of(bits);
+
+            BitSet both = (BitSet) bits.clone();
+            both.and(other);
+            assertEquals(bits.cardinality(), bitmap.cardinality());
+            assertEquals(bits.cardinality(), bitmap.countAnd(null));
+            assertEquals(both.cardinality(), bitmap.countAnd(dense(other, universe)));
+            assertArrayEquals(dense(both, universe), bitmap.and(dense(other, universe), universe));
+            assertArrayEquals(dense(bits, universe), bitmap.and(null, universe));
+
+            long[] into = dense(other, universe);
+            bitmap.orInto(into);
+            BitSet either = (BitSet) bits.clone();
+            either.or(other);
+            assertArrayEquals(dense(either, universe), into);
+        }
+    }
+
+    @Test
+    void picksTheSmallestContainer() {
+        BitSet sparse = new BitSet();
+        sparse.set(3);
+        sparse.set(900);
+        assertEquals(2, of(sparse).storedInts());
+
+        BitSet run = new BitSet();
+        run.set(100, 900);
+        assertEquals(2, of(run).storedInts());
+
+        BitSet alternating = new BitSet();
+        for (int i = 0; i < 1024; i += 2) alternating.set(i);
+        assertEquals(32, of(alternating).storedInts());
+
+        assertEquals(0, of(new BitSet()).storedInts());
+    }
+
+    @Test
+    void shorterQueryArraysDropOrdinalsBeyondThem() {
+        BitSet bits = new BitSet();
+        bits.set(10, 200);
+        OrdinalBitmap bitmap = of(bits);
+        long[] one = {-1L};
+        assertEquals(54, bitmap.countAnd(one));
+        long[] into = new long[1];
+        bitmap.orInto(into);
+        assertEquals(-1L << 10, into[0]);
+    }
+}
@@ -0,0 +1,96 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SectionColumnsTest {
+
+    /** Random sections; about one in four also has a Tuesday lab, added to its pattern in {@code meetings}. */
+    private static List<Section> randomSections(Random r, int n, List<MeetingPattern> meetings) {
+        String[] days = {"MW", "TR", "F", "", "MTWRF"};
+        List<Section> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int start = 8 * 60 + 10 * r.nextInt(60);
+            LocalTime s = r.nextInt(10) == 0 ? null : LocalTime.of(start / 60, start % 60, r.nextInt(3));
+            LocalTime e = s == null ? null : s.plusMinutes(50 + 10 * r.nextInt(10));
+            Section sec = new Section("S" + i, "EECS" + (1000 + r.nextInt(20)), r.nextBoolean() ? "W2026" : "F2025",
+                    r.nextInt(5) == 0 ? null : "Prof " + r.nextInt(4), days[r.nextInt(days.length)], s, e,
+                    "LAS-" + r.nextInt(3), r.nextInt(200));
+            MeetingPattern p = sec.meetings();
+            if (r.nextInt(4) == 0) p = p.plus("T", LocalTime.of(14, 0), LocalTime.of(15, 30));
+            out.add(sec);
+            meetings.add(p);
+        }
+        return out;
+    }
+
+    @Test
+    void viewsMaterializeEqualSections() {
+        List<MeetingPattern> meetings = new ArrayList<>();
+        List<Section> sections = randomSections(new Random(5), 300, meetings);
+        SectionColumns columns = SectionColumns.of(sections, meetings);
+
+        assertEquals(sections, columns.sections());
+        assertEquals(List.of(sections.get(7), sections.get(2)), columns.sections(new int[]{7, 2}));
+        SectionColumns slice = columns.slice(100, 150);
+        assertEquals(sections.subList(100, 150), slice.sections());
+        assertEquals(sections.get(120), slice.section(20));
+        assertEquals(meetings.get(120), slice.meetings(20));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.section(50));
+        assertThrows(UnsupportedOperationException.class, () -> columns.sections().add(sections.get(0)));
+
+        // repeated values come back as one shared instance
+        Section first = columns.section(0);
+        for (int i = 1; i < sections.size(); i++) {
+            Section s = columns.section(i);
+            assertEquals(meetings.get(i), columns.meetings(i));
+            if (s.term().equals(first.term())) assertSame(first.term(), s.term());
+            if (columns.meetings(i).equals(columns.meetings(0))) assertSame(columns.meetings(0), columns.meetings(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> SectionColumns.of(sections, meetings.subList(0, 1)));
+    }
+
+    @Test
+    void matchesComparesEveryField() {
+        List<MeetingPattern> meetings = new ArrayList<>();
+        List<Section> sections = randomSections(new Random(9), 50, meetings);
+        SectionColumns columns = SectionColumns.of(sections, meetings);
+        for (int i = 0; i < sections.size(); i++) {
+            Section s = sections.get(i);
+            assertTrue(columns.matches(i, s)); // extra meetings are the catalog's, not part of the section
+            assertFalse(columns.matches(i, new Section(s.sectionId(), s.courseCode(), s.term(), s.instructor(), s.days(),
+                    s.startTime(), s.endTime(), s.location(), s.capacity() + 1)));
+            assertFalse(columns.matches(i, new Section(s.sectionId(), s.courseCode(), s.term(), s.instructor(), "S",
+                    s.startTime(), s.endTime(), s.location(), s.capacity())));
+        }
+        assertFalse(columns.matches(0, null));
+    }
+
+    @Test
+    void conflictMatrixOverASliceMatchesPairwiseOverlap() {
+        List<MeetingPattern> meetings = new ArrayList<>();
+        List<Section> sections = randomSections(new Random(11), 400, meetings);
+        SectionColumns slice = SectionColumns.of(sections, meetings).slice(150, 400);
+        List<Section> term = sections.subList(150, 400);
+        List<MeetingPattern> termMeetings = meetings.subList(150, 400);
+        SectionConflictMatrix matrix = SectionConflictMatrix.build(slice);
+
+        for (int a = 0; a < term.size(); a++) {
+            assertEquals(a, matrix.ordinalOf(term.get(a)));
+            assertEquals(termMeetings.get(a), matrix.meetings(a));
+            for (int b = 0; b < term.size(); b++) {
+                boolean expected = a != b && termMeetings.get(a).overlaps(termMeetings.get(b));
+                assertEquals(expected, matrix.conflicts(a, b), a + " vs " + b);
+            }
+        }
+        assertEquals(-1, matrix.ordinalOf(sections.get(0)));
+    }
+}
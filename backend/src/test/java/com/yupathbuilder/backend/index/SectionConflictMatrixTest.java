@@ -0,0 +1,112 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SectionConflictMatrixTest {
+
+    private static Section section(String id, String days, int startHour, int startMin, int endHour, int endMin) {
+        return new Section(id, "EECS2030", "W2026", "TBD", days,
+                LocalTime.of(startHour, startMin), LocalTime.of(endHour, endMin), "LAS-1000", 120);
+    }
+
+    @Test
+    void marksOverlapsOnSharedDaysSymmetrically() {
+        Section a = section("A", "MW", 10, 0, 11, 15);
+        Section b = section("B", "W", 11, 0, 12, 0);
+        Section c = section("C", "TR", 10, 0, 11, 15);
+        Section d = section("D", "MW", 11, 15, 12, 30); // touches A only at the edge
+
+        SectionConflictMatrix m = SectionConflictMatrix.build(List.of(a, b, c, d));
+        int ia = m.ordinalOf(a), ib = m.ordinalOf(b), ic = m.ordinalOf(c), id = m.ordinalOf(d);
+
+        assertTrue(m.conflicts(ia, ib));
+        assertTrue(m.conflicts(ib, ia));
+        assertFalse(m.conflicts(ia, ic));
+        assertFalse(m.conflicts(ia, id));
+        assertTrue(m.conflicts(ib, id));
+    }
+
+    @Test
+    void acceptsNamedDays() {
+        Section a = section("A", "Mon,Thu", 10, 0, 11, 0);
+        Section b = section("B", "R", 10, 30, 11, 30);
+
+        SectionConflictMatrix m = SectionConflictMatrix.build(List.of(a, b));
+        assertTrue(m.conflicts(m.ordinalOf(a), m.ordinalOf(b)));
+    }
+
+    @Test
+    void ordinalOfRejectsModifiedCopies() {
+        Section a = section("A", "MW", 10, 0, 11, 15);
+        SectionConflictMatrix m = SectionConflictMatrix.build(List.of(a));
+
+        assertEquals(0, m.ordinalOf(a));
+        assertEquals(-1, m.ordinalOf(section("A", "MW", 9, 0, 11, 15)));
+        assertEquals(-1, m.ordinalOf(section("Z", "MW", 10, 0, 11, 15)));
+    }
+
+    @Test
+    void findsEveryRowOfARepeatedIdAndMergesRepeatedOverlaps() {
+        Section a = section("A", "M", 10, 0, 11, 15);
+        Section a2 = section("A", "TR", 10, 0, 11, 15);
+        Section b = section("B", "MTWR", 10, 30, 11, 0);
+        MeetingPattern aAndLab = a.meetings().plus("W", LocalTime.of(10, 0), LocalTime.of(11, 15)); // overlaps B twice
+        SectionConflictMatrix m = SectionConflictMatrix.build(SectionColumns.of(List.of(b, a, a2),
+                List.of(b.meetings(), aAndLab, a2.meetings())));
+
+        assertEquals(1, m.ordinalOf(a));
+        assertEquals(2, m.ordinalOf(a2));
+        long[] bits = m.newBitset();
+        m.addConflictsOf(0, bits);
+        assertArrayEquals(new long[]{0b110}, bits);
+        assertFalse(m.conflicts(1, 2));
+    }
+
+    @Test
+    void restoresFromSavedListsAndRejectsListsOfOtherRows() {
+        List<Section> rows = List.of(section("A", "MW", 10, 0, 11, 15), section("B", "W", 11, 0, 12, 0),
+                section("C", "M", 10, 30, 11, 0));
+        SectionColumns columns = SectionColumns.of(rows);
+        SectionConflictMatrix built = SectionConflictMatrix.build(columns);
+
+        SectionConflictMatrix restored = SectionConflictMatrix.of(columns, built.conflictOffsets(), built.conflictList());
+        for (int a = 0; a < rows.size(); a++) {
+            for (int b = 0; b < rows.size(); b++) assertEquals(built.conflicts(a, b), restored.conflicts(a, b));
+        }
+        assertEquals(2, restored.ordinalOf(rows.get(2)));
+
+        SectionColumns fewer = SectionColumns.of(rows.subList(0, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> SectionConflictMatrix.of(fewer, built.conflictOffsets(), built.conflictList()));
+        int[] unsorted = built.conflictList();
+        int t = unsorted[0];
+        unsorted[0] = unsorted[1];
+        unsorted[1] = t;
+        assertThrows(IllegalArgumentException.class,
+                () -> SectionConflictMatrix.of(columns, built.conflictOffsets(), unsorted));
+    }
+
+    @Test
+    void listsEachCoursesOrdinalsInSearchOrder() {
+        Section late = section("A-1", "MW", 14, 0, 15, 15);
+        Section early = section("A-2", "TR", 9, 0, 10, 15);
+        Section untimed = new Section("A-0", "EECS2030", "W2026", "TBD", "", null, null, "", 0);
+        Section other = new Section("B-1", "eecs 2001", "W2026", "TBD", "F", LocalTime.of(9, 0), LocalTime.of(10, 0), "", 0);
+        SectionConflictMatrix m = SectionConflictMatrix.build(List.of(late, untimed, other, early));
+
+        assertArrayEquals(new int[]{3, 0, 1}, m.courseOrdinals(" eecs2030"));
+        assertArrayEquals(new int[]{2}, m.courseOrdinals("EECS2001"));
+        assertArrayEquals(new int[0], m.courseOrdinals("EECS9999"));
+        m.courseOrdinals("EECS2030")[0] = 2;
+        assertArrayEquals(new int[]{3, 0, 1}, m.courseOrdinals("EECS2030")); // callers get copies
+        assertEquals("A-2", m.sectionId(3));
+        assertEquals("W2026", m.term(3));
+    }
+}
@@ -0,0 +1,87 @@
+package com.yupathbuilder.backend.index;
+
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.model.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SectionTimeIndexTest {
+
+    private static Section section(String id, String code, String days, int startHour, int endHour) {
+        return new Section(id, code, "W2026", "TBD", days,
+                LocalTime.of(startHour, 0), LocalTime.of(endHour, 0), "LAS-1000", 120);
+    }
+
+    @Test
+    void tuesdayAfternoonEecsSections() {
+        Section morning = section("A", "EECS 2030", "TR", 9, 11);
+        Section noon = section("B", "EECS2031", "TR", 11, 13);     // overlaps 12:00-17:00
+        Section afternoon = section("C", "EECS3101", "T", 14, 16);
+        Section math = section("D", "MATH1090", "T", 14, 16);
+        Section monday = section("E", "EECS1001", "MW", 14, 16);
+        Section lab = section("F", "EECS2011", "MW", 9, 10);
+        MeetingPattern withLab = lab.meetings().plus("T", LocalTime.of(15, 0), LocalTime.of(18, 0));
+        List<Section> sections = List.of(morning, noon, afternoon, math, monday, lab);
+        List<MeetingPattern> meetings = new ArrayList<>(sections.stream().map(Section::meetings).toList());
+        meetings.set(5, withLab);
+        SectionTimeIndex index = SectionTimeIndex.build(SectionColumns.of(sections, meetings));
+
+        int tue = TimeSlot.Day.mask("T");
+        assertEquals(List.of(noon, afternoon, lab), index.find(tue, 12 * 60, 17 * 60, false, "eecs"));
+        assertEquals(List.of(afternoon), index.find(tue, 12 * 60, 17 * 60, true, "EECS"));
+        assertEquals(List.of(noon, afternoon, math, lab), index.find(tue, 12 * 60, 17 * 60, false, null));
+        assertEquals(List.of(noon), index.find(tue, 11 * 60, 12 * 60, false, null)); // A ends exactly at 11:00
+        assertThrows(IllegalArgumentException.class, () -> index.find(tue, 12 * 60, 12 * 60, false, null));
+    }
+
+    @Test
+    void matchesBruteForceScan() {
+        Random r = new Random(11);
+        String[] days = {"M", "T", "W", "R", "F", "MW", "TR", "MWF", ""};
+        String[] codes = {"EECS1001", "EECS 2030", "MATH1090", "PHYS1010"};
+        List<Section> list = new ArrayList<>();
+        List<MeetingPattern> meetings = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int start = 8 + r.nextInt(12);
+            Section s = section("S" + i, codes[r.nextInt(codes.length)], days[r.nextInt(days.length)], start,
+                    start + 1 + r.nextInt(3));
+            MeetingPattern p = s.meetings();
+            if (r.nextInt(4) == 0) p = p.plus(days[r.nextInt(days.length)], LocalTime.of(start, 30), LocalTime.of(start + 2, 0));
+            list.add(s);
+            meetings.add(p);
+        }
+        SectionTimeIndex index = SectionTimeIndex.build(SectionColumns.of(list, meetings));
+
+        for (int q = 0; q < 300; q++) {
+            int mask = r.nextInt(4) == 0 ? 0 : TimeSlot.Day.mask(days[r.nextInt(days.length - 1)]);
+            int from = (7 + r.nextInt(14)) * 60 + 30 * r.nextInt(2);
+            int to = from + 30 + 30 * r.nextInt(10);
+            boolean within = r.nextBoolean();
+            String dept = r.nextBoolean() ? null : (r.nextBoolean() ? "eecs" : "MATH");
+
+            List<Section> expected = new ArrayList<>();
+            for (int i = 0; i < list.size(); i++) {
+                Section s = list.get(i);
+                if (dept != null && !SectionTimeIndex.department(s.courseCode()).equalsIgnoreCase(dept)) continue;
+                MeetingPattern p = meetings.get(i);
+                for (int m = 0; m < p.size(); m++) {
+                    if (mask != 0 && (p.dayMask(m) & mask) == 0) continue;
+                    boolean hit = within ? p.startMinute(m) >= from && p.endMinute(m) <= to
+                            : p.startMinute(m) < to && from < p.endMinute(m);
+                    if (hit) {
+                        expected.add(s);
+                        break;
+                    }
+                }
+            }
+            assertEquals(expected, index.find(mask, from, to, within, dept));
+        }
+    }
+}
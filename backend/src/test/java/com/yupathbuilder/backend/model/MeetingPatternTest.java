@@ -0,0 +1,72 @@
+package com.yupathbuilder.backend.model;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeetingPatternTest {
+
+    @Test
+    void compilesCompactAndNamedDaysToTheSamePattern() {
+        MeetingPattern compact = MeetingPattern.of("MW", LocalTime.of(10, 0), LocalTime.of(11, 15));
+        MeetingPattern named = MeetingPattern.of("Mon,Wed", LocalTime.of(10, 0), LocalTime.of(11, 15));
+
+        assertEquals(compact, named);
+        assertEquals(1, compact.size());
+        assertEquals(0b101, compact.dayMask(0));
+        assertEquals(600, compact.startMinute(0));
+        assertEquals(675, compact.endMinute(0));
+    }
+
+    @Test
+    void untimedOrDaylessSectionsHaveNoMeetings() {
+        assertSame(MeetingPattern.NONE, MeetingPattern.of("MW", null, LocalTime.of(11, 0)));
+        assertSame(MeetingPattern.NONE, MeetingPattern.of("", LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        assertTrue(new Section("S", "EECS2030", "W2026", "TBD", "TBA", null, null, "", 0).meetings().isEmpty());
+    }
+
+    @Test
+    void overlapConsidersEveryMeeting() {
+        Section lecture = new Section("A", "EECS2030", "W2026", "TBD", "MW", LocalTime.of(10, 0), LocalTime.of(11, 0), "LAS-1000", 120);
+        MeetingPattern withLab = lecture.meetings().plus("F", LocalTime.of(14, 0), LocalTime.of(17, 0));
+        MeetingPattern fridayAfternoon = MeetingPattern.of("F", LocalTime.of(16, 0), LocalTime.of(17, 0));
+        MeetingPattern fridayTouching = MeetingPattern.of("F", LocalTime.of(17, 0), LocalTime.of(18, 0));
+
+        assertEquals(2, withLab.size());
+        assertEquals(1, lecture.meetings().size());
+        assertFalse(lecture.meetings().overlaps(fridayAfternoon));
+        assertTrue(withLab.overlaps(fridayAfternoon));
+        assertFalse(withLab.overlaps(fridayTouching));
+        assertEquals(0b10101, withLab.dayMask());
+        assertEquals(withLab, MeetingPattern.of(withLab.meetings()));
+        assertEquals(List.of(new MeetingPattern.Meeting(0b10000, 960, 1020)), fridayAfternoon.meetings());
+    }
+
+    @Test
+    void sectionMeetingsAreDerivedAndUnknownDaysGiveNone() {
+        Section a = new Section("A", "EECS2030", "W2026", "TBD", "MW", LocalTime.of(10, 0), LocalTime.of(11, 0), "LAS-1000", 120);
+        Section b = new Section("B", "EECS2031", "F2025", "TBD", "MW", LocalTime.of(10, 0), LocalTime.of(11, 0), "LAS-1000", 90);
+
+        assertEquals(a.meetings(), b.meetings());
+        assertEquals(a.meetings(), MeetingPattern.of("MW", LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        for (String days : List.of("WEDS", "TTh", "FR", "TBA")) {
+            assertTrue(new Section("C", "EECS2030", "W2026", "TBD", days, LocalTime.of(10, 0), LocalTime.of(11, 0), "", 0)
+                    .meetings().isEmpty(), days);
+        }
+        assertEquals(a.meetings(), a.meetings().plus("TBA", LocalTime.of(14, 0), LocalTime.of(15, 0)));
+    }
+
+    @Test
+    void sectionJsonHasOnlyItsOwnFields() {
+        Section a = new Section("A", "EECS2030", "W2026", "TBD", "MW", LocalTime.of(10, 0), LocalTime.of(11, 0), "LAS-1000", 120);
+        JsonNode json = JsonMapper.builder().build().valueToTree(a);
+
+        assertEquals(List.of("sectionId", "courseCode", "term", "instructor", "days", "startTime", "endTime", "location",
+                "capacity"), List.copyOf(json.propertyNames()));
+    }
+}
@@ -39,4 +39,27 @@ class TimeSlotTest {
         assertFalse(a.overlaps(b));
         assertFalse(b.overlaps(a));
     }
+
+    @Test
+    void dayMaskParsesCompactAndNamedDays() {
+        assertEquals(0b101, TimeSlot.Day.mask("MW"));
+        assertEquals(0b1010, TimeSlot.Day.mask("TR"));
+        assertEquals(0b10101, TimeSlot.Day.mask("Mon, Wed/fri"));
+        assertEquals(0b1000010, TimeSlot.Day.mask("TUES;Sunday"));
+        assertEquals(0, TimeSlot.Day.mask(""));
+        assertEquals(0, TimeSlot.Day.mask(null));
+    }
+
+    @Test
+    void dayMaskRejectsUnknownTokens() {
+        assertThrows(IllegalArgumentException.class, () -> TimeSlot.Day.mask("WEDS"));
+        assertThrows(IllegalArgumentException.class, () -> TimeSlot.Day.mask("FR"));   // not in week order
+        assertThrows(IllegalArgumentException.class, () -> TimeSlot.Day.mask("MWW"));
+        assertThrows(IllegalArgumentException.class, () -> TimeSlot.Day.mask("Mon,Xyz"));
+        assertThrows(IllegalArgumentException.class, () -> TimeSlot.Day.mask("TBA"));
+
+        assertEquals(0, TimeSlot.Day.maskOrZero("TBA"));
+        assertEquals(0, TimeSlot.Day.maskOrZero("TTh"));
+        assertEquals(0b101, TimeSlot.Day.maskOrZero("MW"));
+    }
 }
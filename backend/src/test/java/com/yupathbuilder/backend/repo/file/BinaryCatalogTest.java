@@ -0,0 +1,55 @@
+package com.yupathbuilder.backend.repo.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCatalogTest {
+
+    private static final BinaryCatalog.Stamp STAMP = new BinaryCatalog.Stamp(10, 20, 30, 40);
+
+    @Test
+    void roundTripsTheBundledCatalog(@TempDir Path dir) throws Exception {
+        FileCatalog.Snapshot parsed = new FileCatalog().current();
+        Path file = dir.resolve(BinaryCatalog.FILE);
+        BinaryCatalog.write(file, STAMP, parsed.courses(), parsed.sections());
+
+        FileCatalog.Snapshot mapped = BinaryCatalog.read(file, STAMP, 7).orElseThrow();
+        assertEquals(7, mapped.version());
+        assertEquals(parsed.courses().all(), mapped.courses().all());
+        assertEquals(parsed.courses().byCode(), mapped.courses().byCode());
+        assertEquals(parsed.sections().all(), mapped.sections().all());
+        assertEquals(parsed.sections().meetings(), mapped.sections().meetings());
+        assertEquals(parsed.sections().byTerm(), mapped.sections().byTerm());
+        assertEquals(parsed.sections().conflictsByTerm().keySet(), mapped.sections().conflictsByTerm().keySet());
+        assertTrue(mapped.sections().all().stream().anyMatch(s -> s.meetings().size() > 0));
+        assertEquals(1, Files.list(dir).count(), "temporary file left behind");
+    }
+
+    @Test
+    void ignoresSnapshotsOfOtherCsvsAndMissingFiles(@TempDir Path dir) throws Exception {
+        FileCatalog.Snapshot parsed = new FileCatalog().current();
+        Path file = dir.resolve(BinaryCatalog.FILE);
+        assertTrue(BinaryCatalog.read(file, STAMP, 1).isEmpty());
+
+        BinaryCatalog.write(file, STAMP, parsed.courses(), parsed.sections());
+        assertTrue(BinaryCatalog.read(file, new BinaryCatalog.Stamp(10, 21, 30, 40), 1).isEmpty());
+    }
+
+    @Test
+    void truncatedSnapshotIsAnError(@TempDir Path dir) throws Exception {
+        FileCatalog.Snapshot parsed = new FileCatalog().current();
+        Path file = dir.resolve(BinaryCatalog.FILE);
+        BinaryCatalog.write(file, STAMP, parsed.courses(), parsed.sections());
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThrows(IOException.class, () -> BinaryCatalog.read(file, STAMP, 1));
+    }
+}
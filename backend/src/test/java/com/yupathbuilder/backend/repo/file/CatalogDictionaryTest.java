@@ -0,0 +1,59 @@
+package com.yupathbuilder.backend.repo.file;
+
+import com.yupathbuilder.backend.model.Course;
+import com.yupathbuilder.backend.model.MeetingPattern;
+import com.yupathbuilder.backend.model.Section;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogDictionaryTest {
+
+    private static MappedCsv.Source csv(String text) {
+        return MappedCsv.Source.of(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void internReturnsOneInstancePerValue() {
+        CatalogDictionary dict = new CatalogDictionary();
+        String w = dict.intern(new String("W2026"));
+        assertSame(w, dict.intern(new String("W2026")));
+        assertNull(dict.intern(null));
+        assertSame(dict.normalizedCode("eecs 2030"), dict.normalizedCode(new String("eecs 2030")));
+        assertEquals("EECS2030", dict.normalizedCode(" eecs 2030"));
+    }
+
+    @Test
+    void parsedSectionsShareRepeatedValues() throws Exception {
+        CatalogDictionary dict = new CatalogDictionary();
+        FileCourseRepository.Data courses = FileCourseRepository.parse(csv("EECS2030,Advanced OOP,3,EECS,\n"), dict);
+        FileSectionRepository.Data data = FileSectionRepository.parse(csv("""
+                sectionId,courseCode,term,instructor,days,startTime,endTime,location,capacity
+                A,EECS2030,W2026,TBD,MW,10:00,11:15,LAS,100
+                B,EECS2030,W2026,TBD,MW,10:00,11:15,LAS,100
+                C,EECS2030,W2026,TBD,MW,10:00,11:15,LAS,100
+                C,EECS2030,W2026,TBD,F,14:30,16:00,LAS,100
+                """), dict);
+        List<Section> sections = data.all();
+        List<MeetingPattern> meetings = data.meetings();
+
+        Section a = sections.get(0), b = sections.get(1), c = sections.get(2);
+        Course course = courses.all().get(0);
+        assertSame(course.courseCode(), a.courseCode());
+        assertSame(a.courseCode(), a.normalizedCourseCode());
+        assertSame(a.term(), b.term());
+        assertSame(a.instructor(), b.instructor());
+        assertSame(a.days(), c.days());
+        assertSame(a.startTime(), b.startTime());
+        assertSame(a.location(), c.location());
+        assertEquals(3, sections.size());
+        assertSame(meetings.get(0), meetings.get(1));
+        assertEquals(2, meetings.get(2).size());
+        assertEquals(a.meetings().plus("F", LocalTime.of(14, 30), LocalTime.of(16, 0)), meetings.get(2));
+        assertEquals(a.meetings(), c.meetings()); // the section itself keeps its primary meeting
+    }
+}
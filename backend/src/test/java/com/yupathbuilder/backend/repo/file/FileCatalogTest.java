@@ -0,0 +1,198 @@
+package com.yupathbuilder.backend.repo.file;
+
+import com.yupathbuilder.backend.index.CourseFacetIndex;
+import com.yupathbuilder.backend.index.SectionConflictMatrix;
+import com.yupathbuilder.backend.model.Course;
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.repo.CatalogReloadedEvent;
+import com.yupathbuilder.backend.repo.CourseRepository;
+import com.yupathbuilder.backend.repo.SectionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileCatalogTest {
+
+    private static final String SECTIONS_HEADER = "sectionId,courseCode,term,instructor,days,startTime,endTime,location,capacity\n";
+
+    private static void write(Path dir, String name, String content) throws Exception {
+        // replace by rename, as a deployment would, so the watcher never sees a half-written file
+        Path tmp = Files.createTempFile(dir.getParent(), name, ".tmp");
+        Files.writeString(tmp, content);
+        Files.move(tmp, dir.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path catalogDir(Path root) throws Exception {
+        Path dir = Files.createDirectory(root.resolve("catalog"));
+        write(dir, FileCatalog.COURSES, "EECS 2030,Advanced OOP,3,EECS,\n");
+        write(dir, FileCatalog.SECTIONS, SECTIONS_HEADER + "EECS2030-A,EECS2030,W2026,TBD,MW,10:00,11:15,LAS,100\n");
+        return dir;
+    }
+
+    @Test
+    void reloadPublishesCoursesAndSectionsTogether(@TempDir Path root) throws Exception {
+        Path dir = catalogDir(root);
+        List<Object> events = new CopyOnWriteArrayList<>();
+        FileCatalog catalog = new FileCatalog(dir.toString(), events::add);
+        try {
+            FileCourseRepository courses = new FileCourseRepository(catalog);
+            FileSectionRepository sections = new FileSectionRepository(catalog);
+            FileCatalog.Snapshot before = catalog.current();
+            SectionRepository pinnedSections = sections.snapshot().orElseThrow();
+            CourseRepository pinnedCourses = courses.snapshot().orElseThrow();
+            assertEquals(1, catalog.version());
+            assertEquals(List.of("EECS 2030"), courses.findAll().stream().map(Course::courseCode).toList());
+
+            Files.writeString(dir.resolve(FileCatalog.COURSES), "EECS 2030,Advanced OOP,3,EECS,\nEECS 3101,Algorithms,3,EECS,\n");
+            Files.writeString(dir.resolve(FileCatalog.SECTIONS), SECTIONS_HEADER
+                    + "EECS3101-A,EECS3101,W2026,TBD,TR,10:00,11:15,LAS,100\n");
+            assertEquals(2, catalog.reload());
+
+            assertEquals(2, courses.findAll().size());
+            assertEquals(List.of("EECS3101-A"), sections.findAll().stream().map(Section::sectionId).toList());
+            assertTrue(courses.findByNormalizedCode("eecs 3101").isPresent());
+            assertEquals(1, courses.textIndex().orElseThrow().search("algo").size());
+            // the facet index is rebuilt with the snapshot, not on first use
+            assertSame(catalog.current().facets(), courses.facetIndex().orElseThrow());
+            assertEquals(Map.of("W2026", 1), courses.facetIndex().orElseThrow()
+                    .query(CourseFacetIndex.Filter.NONE, null).facets().get(CourseFacetIndex.TERM));
+            // a reader holding the old snapshot still sees the old pair
+            assertEquals(1, before.courses().all().size());
+            assertEquals("EECS2030-A", before.sections().all().get(0).sectionId());
+            // and so does a pinned repository view, for every call
+            assertEquals(1, pinnedCourses.findAll().size());
+            assertSame(before.facets(), pinnedCourses.facetIndex().orElseThrow());
+            assertTrue(pinnedCourses.findByNormalizedCode("EECS3101").isEmpty());
+            assertEquals(1, pinnedSections.findByNormalizedCourseCodeAndTerm("EECS2030", "W2026").size());
+            assertEquals(List.of("EECS2030-A"), pinnedSections.findByTerm("W2026").stream().map(Section::sectionId).toList());
+            assertTrue(events.contains(new CatalogReloadedEvent(2)));
+        } finally {
+            catalog.destroy();
+        }
+    }
+
+    @Test
+    void failedReloadKeepsServingThePreviousVersion(@TempDir Path root) throws Exception {
+        Path dir = catalogDir(root);
+        FileCatalog catalog = new FileCatalog(dir.toString(), event -> {});
+        try {
+            Files.delete(dir.resolve(FileCatalog.SECTIONS));
+            assertThrows(IllegalStateException.class, catalog::reload);
+            assertEquals(1, catalog.version());
+            assertEquals(1, new FileSectionRepository(catalog).findAll().size());
+        } finally {
+            catalog.destroy();
+        }
+    }
+
+    @Test
+    void rowsWithUnknownDaysLoadWithoutThatMeeting(@TempDir Path root) throws Exception {
+        Path dir = catalogDir(root);
+        write(dir, FileCatalog.SECTIONS, SECTIONS_HEADER
+                + "EECS2030-A,EECS2030,W2026,TBD,MW,10:00,11:15,LAS,100\n"
+                + "EECS2030-B,EECS2030,W2026,TBD,TBA,10:00,11:15,LAS,100\n"
+                + "EECS2030-C,EECS2030,W2026,TBD,TTh,10:00,11:15,LAS,100\n"
+                + "EECS2030-A,EECS2030,W2026,TBD,FR,14:00,15:00,LAB,100\n");
+        FileCatalog catalog = new FileCatalog(dir.toString(), event -> {});
+        try {
+            FileSectionRepository sections = new FileSectionRepository(catalog);
+            assertEquals(List.of("EECS2030-A", "EECS2030-B", "EECS2030-C"),
+                    sections.findAll().stream().map(Section::sectionId).toList());
+            SectionConflictMatrix matrix = sections.conflictMatrix("W2026").orElseThrow();
+            assertEquals(1, matrix.meetings(0).size()); // the bad lab row adds nothing
+            assertTrue(matrix.meetings(1).isEmpty());
+            assertTrue(matrix.meetings(2).isEmpty());
+        } finally {
+            catalog.destroy();
+        }
+    }
+
+    @Test
+    void watcherReloadsInTheBackgroundAfterFilesChange(@TempDir Path root) throws Exception {
+        Path dir = catalogDir(root);
+        List<Object> events = new CopyOnWriteArrayList<>();
+        FileCatalog catalog = new FileCatalog(dir.toString(), events::add);
+        try {
+            write(dir, FileCatalog.COURSES, "EECS 2030,Advanced OOP,3,EECS,\nMATH 1090,Logic,3,MATH,\n");
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            // the new version is visible just before its event is published
+            while ((catalog.version() == 1 || events.isEmpty()) && System.currentTimeMillis() < deadline) Thread.sleep(20);
+            assertTrue(catalog.version() >= 2, "watcher did not reload");
+            assertEquals(2, new FileCourseRepository(catalog).findAll().size());
+            assertFalse(events.isEmpty());
+        } finally {
+            catalog.destroy();
+        }
+    }
+
+    @Test
+    void restartMapsTheSnapshotUntilACsvChanges(@TempDir Path root) throws Exception {
+        Path dir = catalogDir(root);
+        new FileCatalog(dir.toString(), event -> {}).destroy();
+        Path snapshot = dir.resolve(BinaryCatalog.FILE);
+        assertTrue(Files.exists(snapshot), "snapshot not written after CSV load");
+
+        FileCatalog restarted = new FileCatalog(dir.toString(), event -> {});
+        try {
+            assertEquals(List.of("EECS 2030"), new FileCourseRepository(restarted).findAll().stream().map(Course::courseCode).toList());
+            assertEquals(1, new FileSectionRepository(restarted).findByTerm("W2026").size());
+        } finally {
+            restarted.destroy();
+        }
+
+        write(dir, FileCatalog.COURSES, "EECS 2030,Advanced OOP,3,EECS,\nMATH 1090,Logic,3,MATH,\n");
+        FileCatalog changed = new FileCatalog(dir.toString(), event -> {});
+        try {
+            assertEquals(2, new FileCourseRepository(changed).findAll().size());
+        } finally {
+            changed.destroy();
+        }
+
+        Files.write(snapshot, new byte[]{1, 2, 3});
+        FileCatalog corrupt = new FileCatalog(dir.toString(), event -> {});
+        try {
+            assertEquals(2, new FileCourseRepository(corrupt).findAll().size());
+        } finally {
+            corrupt.destroy();
+        }
+    }
+
+    @Test
+    void restartRestoresConflictListsFromTheSnapshot(@TempDir Path root) throws Exception {
+        Path dir = catalogDir(root);
+        write(dir, FileCatalog.SECTIONS, SECTIONS_HEADER
+                + "EECS2030-A,EECS2030,W2026,TBD,MW,10:00,11:15,LAS,100\n"
+                + "EECS2030-B,EECS2030,W2026,TBD,W,11:00,12:00,LAS,100\n"
+                + "EECS2030-C,EECS2030,F2025,TBD,M,10:00,11:00,LAS,100\n");
+        FileCatalog parsed = new FileCatalog(dir.toString(), event -> {});
+        SectionConflictMatrix before = new FileSectionRepository(parsed).conflictMatrix("W2026").orElseThrow();
+        parsed.destroy();
+
+        FileCatalog restarted = new FileCatalog(dir.toString(), event -> {});
+        try {
+            SectionConflictMatrix after = new FileSectionRepository(restarted).conflictMatrix("W2026").orElseThrow();
+            assertArrayEquals(before.conflictOffsets(), after.conflictOffsets());
+            assertArrayEquals(before.conflictList(), after.conflictList());
+            assertTrue(after.conflicts(0, 1));
+            assertEquals(0, new FileSectionRepository(restarted).conflictMatrix("F2025").orElseThrow().conflictList().length);
+        } finally {
+            restarted.destroy();
+        }
+    }
+
+    @Test
+    void defaultsToBundledClasspathData() {
+        FileCatalog catalog = new FileCatalog();
+        assertFalse(new FileCourseRepository(catalog).findAll().isEmpty());
+        assertFalse(new FileSectionRepository(catalog).findAll().isEmpty());
+    }
+}
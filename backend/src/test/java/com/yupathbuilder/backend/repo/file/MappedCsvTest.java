@@ -0,0 +1,77 @@
+package com.yupathbuilder.backend.repo.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvTest {
+
+    private static List<String> fields(MappedCsv.Row row) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < row.size(); i++) out.add(row.get(i));
+        return out;
+    }
+
+    private static List<List<String>> parse(String text, boolean header) throws Exception {
+        return MappedCsv.Source.of(text.getBytes(StandardCharsets.UTF_8)).rows(header, MappedCsvTest::fields);
+    }
+
+    @Test
+    void splitsQuotedFieldsAndTrims() throws Exception {
+        assertEquals(List.of(List.of("k")), parse("k\n", false));
+        assertEquals(List.of(List.of("k", "", "")), parse("k,,\n", false));
+        assertEquals(List.of(List.of("k", "a b", "x")), parse("k , a b ,\tx\t\n", false));
+        assertEquals(List.of(List.of("k", "a,b", "c")), parse("k,\"a,b\",c\n", false));
+        assertEquals(List.of(List.of("k", "say \"hi\"", "é")), parse("k,\"say \"\"hi\"\"\",é\n", false));
+        // quoting toggles mid-field, and an unclosed quote runs to the end of the line
+        assertEquals(List.of(List.of("ka,b c")), parse("k\"a,b\" c\n", false));
+        assertEquals(List.of(List.of("k", "a, b"), List.of("x")), parse("k,\"a, b\nx\n", false));
+        assertEquals(List.of(List.of("k", "")), parse("k,\"\"\n", false));
+    }
+
+    @Test
+    void stripsBomSkipsHeaderAndBlankLinesAndAcceptsAnyLineEnding() throws Exception {
+        String text = "\uFEFFcode,title\r\nEECS 2030, \"Advanced, OOP\" \r\n\r\n   \nMATH 1090,\"Say \"\"hi\"\"\"\rPHYS 1010,Mechanics";
+        assertEquals(List.of(List.of("EECS 2030", "Advanced, OOP"), List.of("MATH 1090", "Say \"hi\""),
+                List.of("PHYS 1010", "Mechanics")), parse(text, true));
+        assertEquals(List.of("code", "title"), parse(text, false).get(0));
+        assertEquals(List.of(), MappedCsv.Source.of(new byte[0]).rows(false, row -> row.get(5)));
+
+        String longTitle = "x".repeat(200_000);
+        assertEquals(List.of(List.of("A", longTitle), List.of("B", "")), parse("A," + longTitle + "\r\nB,", false));
+    }
+
+    @Test
+    void lineEndingExactlyAtTheReadWindowDoesNotStopTheParse() throws Exception {
+        StringBuilder text = new StringBuilder();
+        // 16-byte lines: one ends at every multiple of the window size
+        for (int i = 0; i < 20_000; i++) text.append(String.format("%08d", i)).append(",abcdef\n");
+        List<List<String>> rows = parse(text.toString(), false);
+        assertEquals(20_000, rows.size());
+        assertEquals(List.of("00019999", "abcdef"), rows.get(19_999));
+    }
+
+    @Test
+    void parallelChunksOfAMappedFileKeepFileOrder(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("big.csv");
+        StringBuilder text = new StringBuilder("\uFEFFid,value\n");
+        int rows = 0;
+        while (text.length() < 3 * MappedCsv.MIN_CHUNK + 12345) {
+            text.append(rows).append(",\"v ").append(rows).append(", é\"").append(rows % 7 == 0 ? "\r\n" : "\n");
+            rows++;
+        }
+        Files.writeString(file, text);
+
+        List<String> ids = MappedCsv.Source.of(file).rows(true, row -> row.get(0));
+        assertEquals(rows, ids.size());
+        for (int i = 0; i < rows; i++) assertEquals(String.valueOf(i), ids.get(i));
+        assertEquals("v 42, é", MappedCsv.Source.of(file).rows(true, row -> row.get(1)).get(42));
+    }
+}
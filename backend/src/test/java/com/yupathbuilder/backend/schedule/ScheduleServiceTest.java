@@ -1,12 +1,19 @@
 package com.yupathbuilder.backend.schedule;
 
+import com.yupathbuilder.backend.index.CourseSectionIndex;
+import com.yupathbuilder.backend.index.SectionConflictMatrix;
 import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.repo.CatalogReloadedEvent;
 import com.yupathbuilder.backend.repo.SectionRepository;
+import com.yupathbuilder.backend.schedule.dto.BuildScheduleRequest;
+import com.yupathbuilder.backend.schedule.dto.RankedSchedule;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -94,4 +101,493 @@ class ScheduleServiceTest {
         assertTrue(result.isPresent());
         verify(repo).findByNormalizedCourseCodeAndTerm("EECS2030", "W2026");
     }
+
+    @Test
+    void readsPreSortedCandidatesFromTheCourseIndex() {
+        SectionRepository repo = mock(SectionRepository.class);
+        Section late = new Section("A-1", "EECS2001", "W2026", "TBD",
+                "MW", LocalTime.of(14, 0), LocalTime.of(15, 15), "LAS-1000", 120);
+        Section early = new Section("A-2", "EECS2001", "W2026", "TBD",
+                "TR", LocalTime.of(9, 0), LocalTime.of(10, 15), "LAS-1000", 120);
+        when(repo.courseIndex()).thenReturn(Optional.of(CourseSectionIndex.build(List.of(late, early))));
+
+        Optional<List<Section>> result = new ScheduleService(repo).build("W2026", List.of("EECS2001"));
+
+        assertEquals(Optional.of(List.of(early)), result); // earlier start is tried first
+        verify(repo, never()).findByNormalizedCourseCodeAndTerm(anyString(), anyString());
+    }
+
+    @Test
+    void topKRanksByFewestDaysAndKeepsOnlyK() {
+        SectionRepository repo = mock(SectionRepository.class);
+
+        Section a1 = new Section("A-1", "EECS2001", "W2026", "TBD",
+                "MW", LocalTime.of(8, 30), LocalTime.of(9, 45), "LAS-1000", 120);
+        Section a2 = new Section("A-2", "EECS2001", "W2026", "TBD",
+                "TR", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section b1 = new Section("B-1", "EECS2030", "W2026", "TBD",
+                "TR", LocalTime.of(13, 0), LocalTime.of(14, 15), "LAS-1000", 120);
+        Section b2 = new Section("B-2", "EECS2030", "W2026", "TBD",
+                "F", LocalTime.of(13, 0), LocalTime.of(16, 0), "LAS-1000", 120);
+
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2001", "W2026")).thenReturn(List.of(a1, a2));
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2030", "W2026")).thenReturn(List.of(b1, b2));
+
+        ScheduleService service = new ScheduleService(repo);
+        List<RankedSchedule> ranked = service.topK("W2026", List.of("EECS2001", "EECS2030"), 2,
+                ScheduleRanking.FEWEST_DAYS).schedules();
+
+        assertEquals(2, ranked.size());
+        // A-2 + B-1 share Tue/Thu: only two days on campus
+        assertEquals(2.0, ranked.get(0).score());
+        assertEquals(List.of("A-2", "B-1"), ranked.get(0).sections().stream().map(Section::sectionId).toList());
+        assertEquals(3.0, ranked.get(1).score());
+    }
+
+    @Test
+    void topKLatestStartPrefersLaterMornings() {
+        SectionRepository repo = mock(SectionRepository.class);
+
+        Section early = new Section("A-1", "EECS2001", "W2026", "TBD",
+                "MW", LocalTime.of(8, 30), LocalTime.of(9, 45), "LAS-1000", 120);
+        Section late = new Section("A-2", "EECS2001", "W2026", "TBD",
+                "MW", LocalTime.of(14, 30), LocalTime.of(15, 45), "LAS-1000", 120);
+
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2001", "W2026")).thenReturn(List.of(early, late));
+
+        ScheduleService service = new ScheduleService(repo);
+        List<RankedSchedule> ranked = service.topK("W2026", List.of("EECS2001"), 1, ScheduleRanking.LATEST_START).schedules();
+
+        assertEquals(1, ranked.size());
+        assertEquals("A-2", ranked.get(0).sections().get(0).sectionId());
+    }
+
+    @Test
+    void topKWithoutLowerBoundStopsAtTheServerBudgetWithWhatItFound() {
+        SectionRepository repo = mock(SectionRepository.class);
+        // four free courses, 6^4 valid schedules and no bound to cut any of them
+        List<String> codes = pigeonhole(repo).subList(0, 4);
+
+        RankResult full = new ScheduleService(repo).topK("W2026", codes, 3, ScheduleRanking.SMALLEST_GAPS);
+        assertFalse(full.budgetExhausted());
+        assertEquals(3, full.schedules().size());
+        assertTrue(full.stats().nodes() > 1296);
+
+        RankResult cut = new ScheduleService(repo, 0, 0, 500).topK("W2026", codes, 3, ScheduleRanking.SMALLEST_GAPS);
+        assertTrue(cut.budgetExhausted());
+        assertEquals(3, cut.schedules().size());
+        assertTrue(cut.stats().nodes() < full.stats().nodes());
+    }
+
+    @Test
+    void usesConflictMatrixWhenRepositoryProvidesOne() {
+        SectionRepository repo = mock(SectionRepository.class);
+
+        Section a1 = new Section("A-1", "EECS2001", "W2026", "TBD",
+                "MW", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section a2 = new Section("A-2", "EECS2001", "W2026", "TBD",
+                "TR", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section b1 = new Section("B-1", "EECS2030", "W2026", "TBD",
+                "MW", LocalTime.of(10, 30), LocalTime.of(11, 45), "LAS-1000", 120);
+
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2001", "W2026")).thenReturn(List.of(a1, a2));
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2030", "W2026")).thenReturn(List.of(b1));
+        when(repo.conflictMatrix("W2026")).thenReturn(Optional.of(SectionConflictMatrix.build(List.of(a1, a2, b1))));
+
+        ScheduleService service = new ScheduleService(repo);
+        Optional<List<Section>> result = service.build("W2026", List.of("EECS2001", "EECS2030"));
+
+        assertTrue(result.isPresent());
+        assertEquals(List.of("A-2", "B-1"), result.get().stream().map(Section::sectionId).toList());
+        verify(repo).conflictMatrix("W2026");
+    }
+
+    @Test
+    void searchesCatalogOrdinalsLikeLookedUpSections() {
+        Random rnd = new Random(7);
+        String[] dayPatterns = {"MW", "TR", "MWF", "F", "M", "W"};
+        SectionRepository lists = mock(SectionRepository.class);
+        List<Section> term = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        for (int c = 0; c < 6; c++) {
+            String code = "EECS" + (2000 + c);
+            List<Section> options = new ArrayList<>();
+            for (int k = 0; k < 6; k++) {
+                LocalTime start = LocalTime.of(8, 0).plusMinutes(30L * rnd.nextInt(8));
+                options.add(new Section(code + "-" + k, code, "W2026", "TBD", dayPatterns[rnd.nextInt(dayPatterns.length)],
+                        start, start.plusMinutes(80), "LAS-1000", 120));
+            }
+            when(lists.findByNormalizedCourseCodeAndTerm(code, "W2026")).thenReturn(options);
+            term.addAll(options);
+            codes.add(code);
+        }
+        List<String> hard = new ArrayList<>(codes);
+        for (int c = 0; c < 3; c++) { // three courses for two slots: never satisfiable
+            String code = "HARD" + c;
+            List<Section> options = List.of(
+                    new Section(code + "-A", code, "W2026", "TBD", "MW", LocalTime.of(18, 0), LocalTime.of(19, 15), "LAS-1000", 120),
+                    new Section(code + "-B", code, "W2026", "TBD", "TR", LocalTime.of(18, 0), LocalTime.of(19, 15), "LAS-1000", 120));
+            when(lists.findByNormalizedCourseCodeAndTerm(code, "W2026")).thenReturn(options);
+            term.addAll(options);
+            hard.add(code);
+        }
+        // the second repository only has the term's matrix: every candidate must come from its ordinals
+        SectionRepository catalog = mock(SectionRepository.class);
+        when(catalog.conflictMatrix("W2026")).thenReturn(Optional.of(SectionConflictMatrix.build(term)));
+        ScheduleService byLookup = new ScheduleService(lists, 0), byOrdinal = new ScheduleService(catalog, 0);
+
+        for (SearchMode mode : SearchMode.values()) {
+            for (int n = 2; n <= codes.size(); n++) {
+                ScheduleResult expected = byLookup.build("W2026", codes.subList(0, n), mode);
+                ScheduleResult actual = byOrdinal.build("W2026", codes.subList(0, n), mode);
+                assertEquals(expected.sections(), actual.sections(), mode::name);
+                assertEquals(expected.conflictCore(), actual.conflictCore(), mode::name);
+            }
+            ScheduleResult expected = byLookup.build("W2026", hard, mode, new SearchBudget(0, 1000));
+            ScheduleResult actual = byOrdinal.build("W2026", hard, mode, new SearchBudget(0, 1000));
+            assertEquals(expected.budgetExhausted(), actual.budgetExhausted(), mode::name);
+            assertEquals(expected.partial(), actual.partial(), mode::name);
+            assertEquals(expected.unplacedCourses(), actual.unplacedCourses(), mode::name);
+            assertEquals(expected.conflictCore(), actual.conflictCore(), mode::name);
+        }
+        assertTrue(byOrdinal.build("W2026", hard, SearchMode.BACKTRACK, new SearchBudget(0, 1000)).budgetExhausted());
+
+        List<RankedSchedule> expectedTop = byLookup.topK("W2026", codes, 5, ScheduleRanking.FEWEST_DAYS).schedules();
+        List<RankedSchedule> actualTop = byOrdinal.topK("W2026", codes, 5, ScheduleRanking.FEWEST_DAYS).schedules();
+        assertEquals(expectedTop.stream().map(RankedSchedule::sections).toList(), actualTop.stream().map(RankedSchedule::sections).toList());
+        assertEquals(expectedTop.stream().map(RankedSchedule::score).toList(), actualTop.stream().map(RankedSchedule::score).toList());
+
+        List<Section> plan = byLookup.build("W2026", codes.subList(0, 5)).orElseThrow();
+        RepairResult expectedRepair = byLookup.repair("W2026", plan, codes.get(5));
+        RepairResult actualRepair = byOrdinal.repair("W2026", plan, codes.get(5));
+        assertEquals(expectedRepair.sections(), actualRepair.sections());
+        assertEquals(expectedRepair.swaps(), actualRepair.swaps());
+        verify(catalog, never()).findByNormalizedCourseCodeAndTerm(anyString(), anyString());
+    }
+
+    @Test
+    void propagateFailsFastOnUnsatisfiableRequests() {
+        SectionRepository repo = mock(SectionRepository.class);
+        List<String> codes = pigeonhole(repo);
+
+        ScheduleService service = new ScheduleService(repo);
+        ScheduleResult backtrack = service.build("W2026", codes, SearchMode.BACKTRACK);
+        ScheduleResult propagate = service.build("W2026", codes, SearchMode.PROPAGATE);
+
+        assertFalse(backtrack.found());
+        assertFalse(propagate.found());
+        assertTrue(propagate.stats().nodes() < backtrack.stats().nodes() / 100,
+                () -> "propagate=" + propagate.stats() + " backtrack=" + backtrack.stats());
+        assertTrue(propagate.stats().prunes() > 0);
+    }
+
+    @Test
+    void unsatisfiableRequestReportsMinimalConflictCore() {
+        SectionRepository repo = mock(SectionRepository.class);
+        List<String> codes = pigeonhole(repo);
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS9999", "W2026")).thenReturn(List.of());
+
+        ScheduleService service = new ScheduleService(repo);
+
+        // the free courses are not part of the conflict: only the three pigeonhole courses are
+        ScheduleResult result = service.build("W2026", codes, SearchMode.BACKTRACK);
+        assertFalse(result.found());
+        assertEquals(List.of("HARD0", "HARD1", "HARD2"), result.conflictCore());
+
+        List<String> withMissing = new ArrayList<>(codes);
+        withMissing.add("EECS9999");
+        assertEquals(List.of("EECS9999"), service.build("W2026", withMissing, SearchMode.PROPAGATE).conflictCore());
+    }
+
+    @Test
+    void budgetExhaustionReturnsBestPartialScheduleAndIsNotCached() {
+        SectionRepository repo = mock(SectionRepository.class);
+        List<String> codes = pigeonhole(repo);
+        ScheduleService service = new ScheduleService(repo);
+
+        for (SearchMode mode : List.of(SearchMode.BACKTRACK, SearchMode.PARALLEL)) {
+            ScheduleResult result = service.build("W2026", codes, mode, new SearchBudget(0, 1000));
+
+            assertFalse(result.found(), mode::name);
+            assertTrue(result.budgetExhausted(), mode::name);
+            // two of the three pigeonhole courses fit; one is always left over
+            assertEquals(6, result.partial().size(), mode::name);
+            assertEquals(1, result.unplacedCourses().size(), mode::name);
+            assertTrue(result.unplacedCourses().get(0).startsWith("HARD"), mode::name);
+        }
+        assertEquals(0, service.cacheStats().size());
+
+        // propagation proves the request unsatisfiable well within the same budget
+        ScheduleResult proven = service.build("W2026", codes, SearchMode.PROPAGATE, new SearchBudget(0, 1000));
+        assertFalse(proven.found());
+        assertFalse(proven.budgetExhausted());
+    }
+
+    /**
+     * Four free courses with many independent evening sections, then three courses that all
+     * compete for the same two slots (pigeonhole: never satisfiable).
+     */
+    private static List<String> pigeonhole(SectionRepository repo) {
+        List<String> codes = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            String code = "FREE" + c;
+            List<Section> options = new ArrayList<>();
+            for (int k = 0; k < 6; k++) {
+                options.add(new Section(code + "-" + k, code, "W2026", "TBD", "MTWRF".substring(c, c + 1),
+                        LocalTime.of(17 + k % 3, 0), LocalTime.of(17 + k % 3, 50), "LAS-1000", 120));
+            }
+            when(repo.findByNormalizedCourseCodeAndTerm(code, "W2026")).thenReturn(options);
+            codes.add(code);
+        }
+        for (int c = 0; c < 3; c++) {
+            String code = "HARD" + c;
+            when(repo.findByNormalizedCourseCodeAndTerm(code, "W2026")).thenReturn(List.of(
+                    new Section(code + "-A", code, "W2026", "TBD", "MW", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120),
+                    new Section(code + "-B", code, "W2026", "TBD", "TR", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120)));
+            codes.add(code);
+        }
+        return codes;
+    }
+
+    @Test
+    void propagateFindsScheduleWhenOneExists() {
+        SectionRepository repo = mock(SectionRepository.class);
+
+        Section a1 = new Section("A-1", "EECS2001", "W2026", "TBD",
+                "MW", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section a2 = new Section("A-2", "EECS2001", "W2026", "TBD",
+                "TR", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section b1 = new Section("B-1", "EECS2030", "W2026", "TBD",
+                "MW", LocalTime.of(10, 30), LocalTime.of(11, 45), "LAS-1000", 120);
+
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2001", "W2026")).thenReturn(List.of(a1, a2));
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2030", "W2026")).thenReturn(List.of(b1));
+
+        ScheduleResult result = new ScheduleService(repo).build("W2026", List.of("EECS2001", "EECS2030"), SearchMode.PROPAGATE);
+
+        assertTrue(result.found());
+        // results stay in request order even though EECS2030 (one section) is placed first
+        assertEquals(List.of("A-2", "B-1"), result.sections().stream().map(Section::sectionId).toList());
+        assertEquals(2, result.stats().nodes());
+    }
+
+    @Test
+    void parallelReturnsSameScheduleAsSequential() {
+        SectionRepository repo = mock(SectionRepository.class);
+        java.util.Random rnd = new Random(42);
+        String[] dayPatterns = {"MW", "TR", "MWF", "F", "M", "W"};
+
+        List<String> codes = new ArrayList<>();
+        for (int c = 0; c < 7; c++) {
+            String code = "EECS" + (2000 + c);
+            List<Section> options = new ArrayList<>();
+            for (int k = 0; k < 8; k++) {
+                LocalTime start = LocalTime.of(8, 0).plusMinutes(30L * rnd.nextInt(6));
+                options.add(new Section(code + "-" + k, code, "W2026", "TBD", dayPatterns[rnd.nextInt(dayPatterns.length)],
+                        start, start.plusMinutes(80), "LAS-1000", 120));
+            }
+            when(repo.findByNormalizedCourseCodeAndTerm(code, "W2026")).thenReturn(options);
+            codes.add(code);
+        }
+
+        // 8^7 raw combinations: well above the sequential threshold; no cache so every run searches
+        ScheduleService service = new ScheduleService(repo, 0);
+        ScheduleResult sequential = service.build("W2026", codes, SearchMode.BACKTRACK);
+        for (int run = 0; run < 5; run++) {
+            ScheduleResult parallel = service.build("W2026", codes, SearchMode.PARALLEL);
+            assertEquals(sequential.found(), parallel.found());
+            assertEquals(sequential.sections(), parallel.sections());
+        }
+    }
+
+    @Test
+    void parallelWinnerAfterABudgetCutBranchIsFlaggedAndNotCached() {
+        SectionRepository repo = mock(SectionRepository.class);
+        // P-1 leaves no room for both HARD courses, so its whole subtree (most of the budget) fails; P-2 fits at once
+        List<String> codes = new ArrayList<>(List.of("P"));
+        when(repo.findByNormalizedCourseCodeAndTerm("P", "W2026")).thenReturn(List.of(
+                new Section("P-1", "P", "W2026", "TBD", "MW", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120),
+                new Section("P-2", "P", "W2026", "TBD", "F", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120)));
+        for (int c = 0; c < 7; c++) {
+            String code = "FREE" + c;
+            List<Section> options = new ArrayList<>();
+            for (int k = 0; k < 6; k++) {
+                options.add(new Section(code + "-" + k, code, "W2026", "TBD", "MTWRFSU".substring(c, c + 1),
+                        LocalTime.of(17 + k % 3, 0), LocalTime.of(17 + k % 3, 50), "LAS-1000", 120));
+            }
+            when(repo.findByNormalizedCourseCodeAndTerm(code, "W2026")).thenReturn(options);
+            codes.add(code);
+        }
+        for (int c = 0; c < 2; c++) {
+            String code = "HARD" + c;
+            when(repo.findByNormalizedCourseCodeAndTerm(code, "W2026")).thenReturn(List.of(
+                    new Section(code + "-A", code, "W2026", "TBD", "MW", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120),
+                    new Section(code + "-B", code, "W2026", "TBD", "TR", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120)));
+            codes.add(code);
+        }
+
+        ScheduleService service = new ScheduleService(repo);
+        for (int run = 0; run < 5; run++) {
+            ScheduleResult result = service.build("W2026", codes, SearchMode.PARALLEL, new SearchBudget(0, 200_000));
+            // whether or not a P-2 branch won, the earlier P-1 branches were cut, so this is not BACKTRACK's answer
+            assertTrue(result.budgetExhausted());
+            if (result.found()) assertEquals("P-2", result.sections().get(0).sectionId());
+        }
+        assertEquals(0, service.cacheStats().size());
+    }
+
+    @Test
+    void parallelPrefixEnumerationIsMeteredAndStopsOnceTheBudgetIsSpent() {
+        // far more first-course options than one meter batch, so the enumeration itself must be cut short
+        List<Section> wide = new ArrayList<>();
+        for (int k = 0; k < 2 * SearchBudget.Meter.BATCH; k++) {
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(k % 600);
+            wide.add(new Section("W-" + k, "WIDE", "W2026", "TBD", "MTWRF".substring(k / 600, k / 600 + 1),
+                    start, start.plusMinutes(1), "LAS-1000", 120));
+        }
+        Section other = new Section("O-1", "OTHER", "W2026", "TBD", "S", LocalTime.of(9, 0), LocalTime.of(10, 0), "LAS-1000", 120);
+        CandidateSet c = CandidateSet.of(List.of("WIDE", "OTHER"), List.of(wide, List.of(other)), null);
+
+        ScheduleResult result = new ParallelSearch(c, new SearchBudget(0, 1).start()).solve();
+
+        assertFalse(result.found());
+        assertTrue(result.budgetExhausted());
+        assertEquals(List.of(wide.get(0)), result.partial());
+        assertEquals(List.of("OTHER"), result.unplacedCourses());
+        assertTrue(result.stats().nodes() < wide.size(), () -> "enumerated " + result.stats().nodes());
+    }
+
+    @Test
+    void repairSwapsFewestExistingSectionsToFitNewCourse() {
+        SectionRepository repo = mock(SectionRepository.class);
+
+        Section a1 = new Section("A-1", "EECS2001", "W2026", "TBD", "MW", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section a2 = new Section("A-2", "EECS2001", "W2026", "TBD", "TR", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section b1 = new Section("B-1", "EECS2030", "W2026", "TBD", "MW", LocalTime.of(13, 0), LocalTime.of(14, 15), "LAS-1000", 120);
+        Section b2 = new Section("B-2", "EECS2030", "W2026", "TBD", "TR", LocalTime.of(10, 30), LocalTime.of(11, 45), "LAS-1000", 120);
+        Section x1 = new Section("X-1", "EECS3101", "W2026", "TBD", "MW", LocalTime.of(10, 30), LocalTime.of(11, 45), "LAS-1000", 120);
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2001", "W2026")).thenReturn(List.of(a1, a2));
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2030", "W2026")).thenReturn(List.of(b1, b2));
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS3101", "W2026")).thenReturn(List.of(x1));
+
+        ScheduleService service = new ScheduleService(repo);
+        // X-1 pushes A-1 to A-2, which then collides with B-2, so B-2 has to move as well
+        RepairResult result = service.repair("W2026", List.of(a1, b2), "eecs 3101");
+
+        assertTrue(result.found());
+        assertFalse(result.budgetExhausted());
+        assertEquals(x1, result.added());
+        assertEquals(2, result.swaps().size());
+        assertEquals(List.of(new RepairResult.SectionSwap(a1, a2), new RepairResult.SectionSwap(b2, b1)), result.swaps());
+        assertEquals(List.of("A-2", "B-1", "X-1"), result.sections().stream().map(Section::sectionId).toList());
+
+        // nothing to move when the new course already fits
+        RepairResult untouched = service.repair("W2026", List.of(a2, b1), "EECS3101");
+        assertTrue(untouched.swaps().isEmpty());
+        assertEquals(List.of(a2, b1, x1), untouched.sections());
+
+        // A-2 is blocked by Y-1 (single section), and A-1 overlaps X-1: no repair exists
+        Section y1 = new Section("Y-1", "EECS3311", "W2026", "TBD", "TR", LocalTime.of(10, 0), LocalTime.of(11, 0), "LAS-1000", 120);
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS3311", "W2026")).thenReturn(List.of(y1));
+        assertFalse(service.repair("W2026", List.of(a1, y1), "EECS3101").found());
+
+        // the same repairs from the term's catalog ordinals alone
+        SectionRepository catalog = mock(SectionRepository.class);
+        when(catalog.conflictMatrix("W2026")).thenReturn(Optional.of(SectionConflictMatrix.build(List.of(a1, a2, b1, b2, x1, y1))));
+        ScheduleService fromMatrix = new ScheduleService(catalog);
+        RepairResult viaOrdinals = fromMatrix.repair("W2026", List.of(a1, b2), "eecs 3101");
+        assertEquals(result.sections(), viaOrdinals.sections());
+        assertEquals(result.swaps(), viaOrdinals.swaps());
+        assertFalse(fromMatrix.repair("W2026", List.of(a1, y1), "EECS3101").found());
+        verify(catalog, never()).findByNormalizedCourseCodeAndTerm(anyString(), anyString());
+    }
+
+    @Test
+    void buildAllDeduplicatesSharesLookupsAndKeepsInputOrder() {
+        SectionRepository repo = mock(SectionRepository.class);
+
+        Section a = new Section("A-1", "EECS2001", "W2026", "TBD",
+                "MW", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section b = new Section("B-1", "EECS2030", "W2026", "TBD",
+                "TR", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section c = new Section("C-1", "EECS2031", "W2026", "TBD",
+                "MW", LocalTime.of(10, 30), LocalTime.of(11, 45), "LAS-1000", 120);
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2001", "W2026")).thenReturn(List.of(a));
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2030", "W2026")).thenReturn(List.of(b));
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2031", "W2026")).thenReturn(List.of(c));
+
+        // cache disabled, so deduplication and shared lookups are what keep the repository calls down
+        ScheduleService service = new ScheduleService(repo, 0);
+        List<ScheduleResult> results = service.buildAll(List.of(
+                new BuildScheduleRequest("W2026", List.of("EECS2001", "EECS2030"), null),
+                new BuildScheduleRequest("W2026", List.of("EECS2001", "EECS2031"), null),
+                new BuildScheduleRequest("W2026", List.of(" eecs 2001", "EECS2030"), null),
+                new BuildScheduleRequest("W2026", List.of("EECS2030", "EECS2031"), SearchMode.PROPAGATE),
+                new BuildScheduleRequest("W2026", List.of("EECS2030", "EECS2001"), null)));
+
+        assertEquals(5, results.size());
+        assertEquals(List.of(a, b), results.get(0).sections());
+        assertFalse(results.get(1).found());
+        assertSame(results.get(0), results.get(2));
+        assertEquals(List.of(b, c), results.get(3).sections());
+        // a reordered list is its own search, answered in its own order
+        assertEquals(List.of(b, a), results.get(4).sections());
+        verify(repo, times(1)).findByNormalizedCourseCodeAndTerm("EECS2001", "W2026");
+        verify(repo, times(1)).findByNormalizedCourseCodeAndTerm("EECS2030", "W2026");
+        verify(repo, times(1)).findByNormalizedCourseCodeAndTerm("EECS2031", "W2026");
+    }
+
+    @Test
+    void cacheServesSameCourseListInAnySpellingButNotReordered() {
+        SectionRepository repo = mock(SectionRepository.class);
+
+        Section a = new Section("A-1", "EECS2001", "W2026", "TBD",
+                "MW", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section b = new Section("B-1", "EECS2030", "W2026", "TBD",
+                "TR", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2001", "W2026")).thenReturn(List.of(a));
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2030", "W2026")).thenReturn(List.of(b));
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS9999", "W2026")).thenReturn(List.of());
+
+        ScheduleService service = new ScheduleService(repo);
+        Optional<List<Section>> first = service.build("W2026", List.of("EECS2030", "EECS2001"));
+        Optional<List<Section>> second = service.build("w2026", List.of(" eecs 2030", "EECS2001"));
+        assertTrue(service.build("W2026", List.of("EECS9999")).isEmpty());
+        assertTrue(service.build("W2026", List.of("EECS9999")).isEmpty());
+
+        assertEquals(first, second);
+        verify(repo, times(1)).findByNormalizedCourseCodeAndTerm("EECS2001", "W2026");
+        verify(repo, times(1)).findByNormalizedCourseCodeAndTerm("EECS9999", "W2026");
+        assertEquals(2, service.cacheStats().hits());
+        assertEquals(2, service.cacheStats().misses());
+
+        // the search order is part of the key: a reordered list is searched, in its own order
+        assertEquals(Optional.of(List.of(a, b)), service.build("W2026", List.of("EECS2001", "EECS2030")));
+        verify(repo, times(2)).findByNormalizedCourseCodeAndTerm("EECS2001", "W2026");
+        assertEquals(3, service.cacheStats().misses());
+
+        service.invalidateCache();
+        service.build("W2026", List.of("EECS2001", "EECS2030"));
+        verify(repo, times(3)).findByNormalizedCourseCodeAndTerm("EECS2001", "W2026");
+    }
+
+    @Test
+    void searchesInRequestOrderAndDropsResultsOfSearchesOverlappingAReload() {
+        SectionRepository repo = mock(SectionRepository.class);
+
+        Section a = new Section("A-1", "EECS2001", "W2026", "TBD",
+                "MW", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        Section b = new Section("B-1", "EECS2030", "W2026", "TBD",
+                "TR", LocalTime.of(10, 0), LocalTime.of(11, 15), "LAS-1000", 120);
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2001", "W2026")).thenReturn(List.of(a));
+        ScheduleService service = new ScheduleService(repo);
+        // the catalog is reloaded while this search reads it
+        when(repo.findByNormalizedCourseCodeAndTerm("EECS2030", "W2026")).thenAnswer(inv -> {
+            service.onCatalogReloaded(new CatalogReloadedEvent(2));
+            return List.of(b);
+        });
+
+        assertEquals(Optional.of(List.of(b, a)), service.build("W2026", List.of("EECS2030", "EECS2001")));
+        assertEquals(0, service.cacheStats().size());
+    }
 }
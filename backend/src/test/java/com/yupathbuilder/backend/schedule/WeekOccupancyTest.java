@@ -0,0 +1,57 @@
+package com.yupathbuilder.backend.schedule;
+
+import com.yupathbuilder.backend.model.Section;
+import com.yupathbuilder.backend.schedule.WeekOccupancy.Footprint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeekOccupancyTest {
+
+    private static Section section(String days, LocalTime start, LocalTime end) {
+        return new Section("S", "EECS2030", "W2026", "TBD", days, start, end, "LAS-1000", 120);
+    }
+
+    @Test
+    void overlappingSameDayDoesNotFit() {
+        WeekOccupancy occ = new WeekOccupancy();
+        occ.place(Footprint.of(section("MW", LocalTime.of(10, 0), LocalTime.of(11, 15))));
+
+        assertFalse(occ.fits(Footprint.of(section("W", LocalTime.of(11, 0), LocalTime.of(12, 0)))));
+        assertTrue(occ.fits(Footprint.of(section("TR", LocalTime.of(11, 0), LocalTime.of(12, 0)))));
+    }
+
+    @Test
+    void touchingEdgesFits() {
+        WeekOccupancy occ = new WeekOccupancy();
+        occ.place(Footprint.of(section("M", LocalTime.of(10, 0), LocalTime.of(11, 0))));
+
+        assertTrue(occ.fits(Footprint.of(section("M", LocalTime.of(11, 0), LocalTime.of(12, 0)))));
+        assertTrue(occ.fits(Footprint.of(section("M", LocalTime.of(9, 0), LocalTime.of(10, 0)))));
+    }
+
+    @Test
+    void unplaceRestoresPreviousState() {
+        WeekOccupancy occ = new WeekOccupancy();
+        Footprint a = Footprint.of(section("TR", LocalTime.of(10, 0), LocalTime.of(11, 15)));
+        Footprint b = Footprint.of(section("R", LocalTime.of(11, 15), LocalTime.of(12, 30)));
+        occ.place(a);
+        occ.place(b);
+        occ.unplace(a);
+
+        assertTrue(occ.fits(a));
+        assertFalse(occ.fits(b));
+    }
+
+    @Test
+    void missingTimesNeverConflict() {
+        Footprint f = Footprint.of(section("MW", null, null));
+        assertTrue(f.isEmpty());
+
+        WeekOccupancy occ = new WeekOccupancy();
+        occ.place(Footprint.of(section("MTWRFSU", LocalTime.of(0, 0), LocalTime.of(23, 59))));
+        assertTrue(occ.fits(f));
+    }
+}
@@ -1,14 +1,22 @@
 package com.yupathbuilder.backend.service;
 
+import com.yupathbuilder.backend.index.SectionColumns;
+import com.yupathbuilder.backend.index.SectionConflictMatrix;
 import com.yupathbuilder.backend.model.Conflict;
 import com.yupathbuilder.backend.model.Section;
 import com.yupathbuilder.backend.model.TimeSlot;
+import com.yupathbuilder.backend.repo.SectionRepository;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for ConflictDetector (pure JUnit, no Spring).
@@ -96,4 +104,113 @@ class ConflictDetectorTest {
         // Assert
         assertTrue(conflicts.isEmpty(), "Expected no conflict when intervals only touch at the boundary");
     }
+
+    @Test
+    void compactDaysAndCatalogExtraMeetingsAreChecked() {
+        // Arrange: lecture MW, plus a Friday lab (its own catalog row) that overlaps the incoming section
+        Section existing = new Section(
+                "S1", "EECS2030", "W2026", "TBD",
+                "MW", LocalTime.of(10, 0), LocalTime.of(11, 0),
+                "LAS-1000", 120
+        );
+
+        Section incoming = new Section(
+                "S2", "EECS2021", "W2026", "TBD",
+                "W,F", LocalTime.of(16, 0), LocalTime.of(17, 30),
+                "LAS-1000", 120
+        );
+        SectionRepository repo = mock(SectionRepository.class);
+        when(repo.conflictMatrix("W2026")).thenReturn(Optional.of(SectionConflictMatrix.build(SectionColumns.of(
+                List.of(existing, incoming),
+                List.of(existing.meetings().plus("F", LocalTime.of(14, 0), LocalTime.of(17, 0)), incoming.meetings())))));
+        ConflictDetector catalogDetector = new ConflictDetector(repo);
+
+        // Act
+        List<Conflict> conflicts = catalogDetector.detectConflicts(List.of(existing), incoming);
+
+        // Assert: only the lab clashes, 16:00 -> 17:00 on Friday
+        assertEquals(1, conflicts.size());
+        TimeSlot clash = conflicts.get(0).getClashOn();
+        assertEquals(TimeSlot.Day.FRI, clash.getDay());
+        assertEquals(16 * 60, clash.getStartMin());
+        assertEquals(17 * 60, clash.getEndMin());
+        List<Conflict> all = catalogDetector.detectAllConflicts(List.of(existing, incoming));
+        assertEquals(1, all.size());
+        assertEquals(16 * 60, all.get(0).getClashOn().getStartMin());
+        assertFalse(catalogDetector.compatibility(List.of(existing), List.of(incoming)).get(0));
+
+        // without the catalog only the primary meetings are known
+        assertTrue(detector.detectConflicts(List.of(existing), incoming).isEmpty());
+    }
+
+    @Test
+    void wholeSetValidationReportsEveryClashingPair() {
+        Section a = new Section("A", "EECS2030", "W2026", "TBD", "MW", LocalTime.of(10, 0), LocalTime.of(11, 30), "LAS-1000", 120);
+        Section b = new Section("B", "EECS2021", "W2026", "TBD", "W", LocalTime.of(11, 0), LocalTime.of(12, 0), "LAS-1000", 120);
+        Section c = new Section("C", "EECS2001", "W2026", "TBD", "TR", LocalTime.of(9, 0), LocalTime.of(10, 0), "LAS-1000", 120);
+        Section d = new Section("D", "EECS3101", "W2026", "TBD", "W", LocalTime.of(11, 15), LocalTime.of(11, 45), "LAS-1000", 120);
+
+        List<Conflict> conflicts = detector.detectAllConflicts(List.of(a, b, c, d));
+
+        // Wednesday: A-B 11:00-11:30, A-D 11:15-11:30, B-D 11:15-11:45
+        assertEquals(3, conflicts.size());
+        assertSame(a, conflicts.get(0).getExisting());
+        assertSame(b, conflicts.get(0).getIncoming());
+        assertEquals(new TimeSlot(TimeSlot.Day.WED, 660, 690), conflicts.get(0).getClashOn());
+        assertEquals(new TimeSlot(TimeSlot.Day.WED, 675, 690), conflicts.get(1).getClashOn());
+        assertSame(d, conflicts.get(2).getIncoming());
+        assertEquals(new TimeSlot(TimeSlot.Day.WED, 675, 705), conflicts.get(2).getClashOn());
+    }
+
+    @Test
+    void wholeSetValidationMatchesPairwiseDetection() {
+        Random rnd = new Random(7);
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(15L * rnd.nextInt(40));
+            int firstDay = rnd.nextInt(5);
+            String days = "MTWRF".substring(firstDay, Math.min(5, firstDay + 1 + rnd.nextInt(2)));
+            sections.add(new Section("S" + i, "EECS" + i, "W2026", "TBD", days,
+                    start, start.plusMinutes(30 + 15L * rnd.nextInt(8)), "LAS-1000", 120));
+        }
+
+        int pairwise = 0;
+        for (int i = 0; i < sections.size(); i++) {
+            pairwise += detector.detectConflicts(sections.subList(0, i), sections.get(i)).size();
+        }
+
+        assertTrue(pairwise > 0);
+        assertEquals(pairwise, detector.detectAllConflicts(sections).size());
+    }
+
+    @Test
+    void compatibilityMatchesPairwiseDetectionWithAndWithoutMatrix() {
+        Random rnd = new Random(11);
+        List<Section> catalog = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(30L * rnd.nextInt(20));
+            int firstDay = rnd.nextInt(5);
+            String days = "MTWRF".substring(firstDay, Math.min(5, firstDay + 1 + rnd.nextInt(2)));
+            catalog.add(new Section("S" + i, "EECS" + i, "W2026", "TBD", days, start, start.plusMinutes(80), "LAS-1000", 120));
+        }
+        Section custom = new Section("CUSTOM", "EECS9999", "W2026", "TBD", "F", LocalTime.of(13, 0), LocalTime.of(16, 0), "", 0);
+        List<Section> plan = List.of(catalog.get(3), catalog.get(40), custom);
+
+        SectionConflictMatrix matrix = SectionConflictMatrix.build(catalog);
+        SectionRepository repo = mock(SectionRepository.class);
+        when(repo.conflictMatrix("W2026")).thenReturn(Optional.of(matrix));
+
+        int[] ordinals = new int[catalog.size()];
+        for (int i = 0; i < ordinals.length; i++) ordinals[i] = ordinals.length - 1 - i;
+        BitSet byOrdinal = detector.compatibility(plan, matrix, ordinals);
+        for (ConflictDetector d : List.of(detector, new ConflictDetector(repo))) {
+            BitSet fits = d.compatibility(plan, catalog);
+            for (int i = 0; i < catalog.size(); i++) {
+                Section c = catalog.get(i);
+                boolean expected = plan.contains(c) || detector.detectConflicts(plan, c).isEmpty();
+                assertEquals(expected, fits.get(i), c::sectionId);
+                assertEquals(expected, byOrdinal.get(ordinals.length - 1 - i), c::sectionId);
+            }
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.yupathbuilder.backend.service;
+
+import com.yupathbuilder.backend.model.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoursePageTest {
+
+    private static Course course(String code, String title) {
+        return new Course(code, title, 3.0, "EECS", "");
+    }
+
+    private static final List<Course> CATALOG = List.of(
+            course("EECS1001", "a"), course("EECS1012", "b"), course("EECS 2030", "c"),
+            course("EECS2030", "duplicate code"), course("EECS2031", "d"), course("EECS3101", "e"));
+
+    @Test
+    void pagesCoverTheListingOnceInOrderIncludingDuplicateCodes() {
+        for (int limit = 1; limit <= CATALOG.size() + 1; limit++) {
+            List<Course> seen = new ArrayList<>();
+            String cursor = null;
+            do {
+                CoursePage page = CoursePage.of(CATALOG, "", cursor, limit);
+                assertTrue(page.items().size() <= limit);
+                seen.addAll(page.items());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            assertEquals(CATALOG, seen, "limit " + limit);
+        }
+    }
+
+    @Test
+    void unsortedListingsArePagedInCodeOrder() {
+        List<Course> shuffled = List.of(CATALOG.get(5), CATALOG.get(2), CATALOG.get(0), CATALOG.get(4),
+                CATALOG.get(3), CATALOG.get(1));
+        List<Course> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CoursePage page = CoursePage.of(shuffled, "", cursor, 2);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertEquals(CATALOG, seen);
+    }
+
+    @Test
+    void cursorSurvivesReloadAndResumesAfterLastCode() {
+        CoursePage first = CoursePage.of(CATALOG, "", null, 2);
+        assertEquals(CATALOG.subList(0, 2), first.items());
+
+        // reload: a course before the cursor disappears and a new one appears after it
+        List<Course> reloaded = List.of(course("EECS1012", "b"), course("EECS1015", "new"),
+                course("EECS2030", "c"), course("EECS3101", "e"));
+        assertEquals(reloaded.subList(1, 3), CoursePage.of(reloaded, "", first.nextCursor(), 2).items());
+    }
+
+    @Test
+    void foreignOrTamperedCursorsAndBadLimitsFailExplicitly() {
+        String cursor = CoursePage.of(CATALOG, "eecs", null, 2).nextCursor();
+        assertNotNull(cursor);
+        assertThrows(IllegalArgumentException.class, () -> CoursePage.of(CATALOG, "math", cursor, 2));
+        assertThrows(IllegalArgumentException.class, () -> CoursePage.of(CATALOG, "eecs", "not*base64", 2));
+        assertThrows(IllegalArgumentException.class, () -> CoursePage.of(CATALOG, "eecs", "Zm9v", 2));
+        assertThrows(IllegalArgumentException.class, () -> CoursePage.of(CATALOG, "", null, 0));
+        assertThrows(IllegalArgumentException.class, () -> CoursePage.of(CATALOG, "", null, CoursePage.MAX_LIMIT + 1));
+        assertNull(CoursePage.of(CATALOG, "", null, CATALOG.size()).nextCursor());
+    }
+}